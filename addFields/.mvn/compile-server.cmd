@@ -0,0 +1,8 @@
+@echo off
+set JAVA_HOME=C:\caminho\para\jdk-25
+set PATH=%JAVA_HOME%\bin;%PATH%
+
+REM Inicia o servidor de compilacao do ReStick, que mantem javac e processors carregados entre builds.
+set PROCESSOR_JAR=%~dp0..\addFields-processor\target\addFields-processor-1.0-SNAPSHOT.jar
+
+java --add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED --add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED --add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED --add-exports=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED --add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED -cp "%PROCESSOR_JAR%" br.com.restick.internal.server.CompileServer %*
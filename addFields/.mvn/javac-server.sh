@@ -0,0 +1,8 @@
+#!/bin/bash
+# Executável "javac" para o maven-compiler-plugin (perfil compile-server): repassa a compilação ao
+# servidor de compilação do ReStick, que precisa estar em execução (./compile-server.sh).
+# Uso: mvn -Pcompile-server install
+PROCESSOR_JAR="$(dirname "$0")/../addFields-processor/target/addFields-processor-1.0-SNAPSHOT.jar"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+exec "$JAVA" -cp "$PROCESSOR_JAR" br.com.restick.internal.server.CompileClient "$@"
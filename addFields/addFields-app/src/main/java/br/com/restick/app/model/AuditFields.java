@@ -0,0 +1,14 @@
+package br.com.restick.app.model;
+
+import br.com.restick.api.annotation.FieldDef;
+import br.com.restick.api.annotation.FieldSet;
+
+/**
+ * Campos de auditoria reutilizados pelas classes com {@code @AddFields(sets = AuditFields.class)}.
+ */
+@FieldSet({
+        @FieldDef(name = "createdBy", type = String.class, modifier = 1L),
+        @FieldDef(name = "createdAt", type = java.time.Instant.class, modifier = 1L)
+})
+public interface AuditFields {
+}
@@ -3,11 +3,14 @@ package br.com.restick.app.model;
 import br.com.restick.api.annotation.AddFields;
 import br.com.restick.api.annotation.FieldDef;
 
-@AddFields({
-        @FieldDef(name = "model", type = String.class, modifier = 1L),
+@AddFields(sets = AuditFields.class, snapshot = true, store = true, value = {
+        @FieldDef(name = "model", type = String.class, modifier = 0L, indexed = true),
         @FieldDef(name = "color", type = String.class,  modifier = 1L),
         @FieldDef(name = "type", type = String.class,  modifier = 1L),
-        @FieldDef(name = "value", type = Long.class,  modifier = 1L)
+        @FieldDef(name = "value", type = Long.class,  modifier = 0L, indexed = true, sorted = true),
+        @FieldDef(name = "nickname", type = String.class, modifier = 1L, sparse = true),
+        @FieldDef(name = "views", type = long.class, modifier = 1L, counter = true),
+        @FieldDef(name = "mileage", type = long.class, modifier = 1L, collection = true)
 })
 public class Car {
 }
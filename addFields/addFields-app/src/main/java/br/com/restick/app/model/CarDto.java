@@ -0,0 +1,14 @@
+package br.com.restick.app.model;
+
+public class CarDto {
+
+    public String model;
+
+    public String type;
+
+    public Long value;
+
+    public String createdBy;
+
+    public java.time.Instant createdAt;
+}
@@ -0,0 +1,10 @@
+package br.com.restick.app.model;
+
+import br.com.restick.api.annotation.Mapper;
+
+/**
+ * Gera {@code CarMapperImpl} copiando os campos gerados de {@link Car} para {@link CarDto}.
+ */
+@Mapper(source = Car.class, target = CarDto.class)
+public interface CarMapper {
+}
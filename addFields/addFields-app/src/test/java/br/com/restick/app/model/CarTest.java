@@ -0,0 +1,148 @@
+package br.com.restick.app.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Exercita o código gerado por {@code @AddFields} e {@code @Mapper} para {@link Car}:
+ * índices, contador, store, snapshot e mapper.
+ *
+ * @author William
+ * @since 1.0
+ */
+class CarTest {
+
+    @BeforeEach
+    void clearIndexes() {
+        CarModelIndex.clear();
+        CarValueIndex.clear();
+    }
+
+    @Test
+    void indexFollowsSetters() {
+        Car first = new Car();
+        first.setModel("gol");
+        first.setValue(10L);
+        Car second = new Car();
+        second.setModel("gol");
+        second.setValue(30L);
+
+        assertEquals(2, CarModelIndex.count("gol"));
+        assertSame(first, CarValueIndex.first(10L));
+
+        List<Car> range = new ArrayList<>();
+        CarValueIndex.forEachInRange(5L, 20L, range::add);
+        assertEquals(List.of(first), range);
+
+        second.setModel("uno");
+        second.setValue(null);
+        assertEquals(1, CarModelIndex.count("gol"));
+        assertSame(second, CarModelIndex.first("uno"));
+        assertEquals(0, CarValueIndex.count(30L));
+        assertEquals("uno", second.getModel());
+    }
+
+    @Test
+    void counterSumsAllThreads() throws InterruptedException {
+        Car car = new Car();
+        car.incrementViews();
+        car.addViews(41);
+        assertEquals(42, car.sumViews());
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    car.incrementViews();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_042, car.sumThenResetViews());
+        assertEquals(0, car.sumViews());
+    }
+
+    @Test
+    void storeRoundTrip(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("cars.bin");
+        Instant createdAt = Instant.ofEpochSecond(1_700_000_000L, 5);
+
+        try (CarStore store = CarStore.open(file)) {
+            Car car = new Car();
+            car.createdBy = "ana";
+            car.createdAt = createdAt;
+            car.setModel("gol");
+            car.color = "preto";
+            car.setValue(7L);
+            car.setNickname("fusca");
+            store.append(car);
+            store.append(new Car());
+        }
+
+        try (CarStore store = CarStore.open(file)) {
+            assertEquals(2, store.size());
+
+            Car car = store.get(0);
+            assertEquals("ana", car.createdBy);
+            assertEquals(createdAt, car.createdAt);
+            assertEquals("gol", car.getModel());
+            assertEquals("preto", car.color);
+            assertEquals(7L, car.getValue());
+            assertEquals("fusca", car.getNickname());
+
+            assertEquals(7L, store.readValue(0));
+            assertNull(store.readModel(1));
+        }
+    }
+
+    @Test
+    void snapshotReflectsLastWrite() {
+        Car car = new Car();
+        car.writeSnapshot("ana", null, "gol", "preto", "hatch", 7L, "fusca");
+
+        CarSnapshot snapshot = car.readSnapshot();
+        assertEquals("gol", snapshot.model());
+        assertEquals(7L, snapshot.value());
+        assertSame(car, CarModelIndex.first("gol"));
+
+        car.writeSnapshot(new CarSnapshot("bia", null, "uno", "azul", "sedan", 9L, null));
+        assertEquals(new CarSnapshot("bia", null, "uno", "azul", "sedan", 9L, null), car.readSnapshot());
+        assertEquals(0, CarModelIndex.count("gol"));
+        assertSame(car, CarValueIndex.first(9L));
+    }
+
+    @Test
+    void mapperCopiesGeneratedFields() {
+        Car car = new Car();
+        car.setModel("gol");
+        car.type = "hatch";
+        car.setValue(5L);
+        car.createdBy = "ana";
+
+        CarDto dto = CarMapperImpl.map(car);
+        assertEquals("gol", dto.model);
+        assertEquals("hatch", dto.type);
+        assertEquals(5L, dto.value);
+        assertEquals("ana", dto.createdBy);
+
+        CarDto[] all = CarMapperImpl.mapAll(new Car[]{car, null});
+        assertEquals(2, all.length);
+        assertNull(all[1]);
+        assertNull(CarMapperImpl.map(null));
+        assertEquals(0, CarMapperImpl.mapAll(new Car[0]).length);
+    }
+}
@@ -13,5 +13,27 @@ public @interface AddFields {
     /**
      * Lista de definições de campos a serem gerados na classe anotada.
      */
-    FieldDef[] value();
+    FieldDef[] value() default {};
+
+    /**
+     * Conjuntos reutilizáveis de campos: tipos anotados com {@link FieldSet}.
+     * Os campos dos conjuntos são gerados antes dos definidos em {@link #value()}.
+     */
+    Class<?>[] sets() default {};
+
+    /**
+     * Gera leitura consistente e sem bloqueio dos campos gerados (seqlock):
+     * {@code writeSnapshot(...)} atualiza todos os campos de uma vez e
+     * {@code readSnapshot()} devolve o record {@code <Classe>Snapshot}, repetindo a
+     * leitura se houver escrita concorrente. Escritas diretas nos campos não
+     * participam do protocolo.
+     */
+    boolean snapshot() default false;
+
+    /**
+     * Gera {@code <Classe>Store}: um arquivo de registros de tamanho fixo, somente de inclusão
+     * e mapeado em memória, com layout derivado dos campos gerados. Permite reabrir o arquivo
+     * e ler registros (ou campos isolados) pelo índice sem desserializar o conteúdo.
+     */
+    boolean store() default false;
 }
@@ -22,4 +22,50 @@ public @interface FieldDef {
 
     /** Tipo de modificador de acesso e visibilidade do campo (ex: 1L = Public).*/
     long modifier();
+
+    /**
+     * Gera um índice secundário em memória para o campo (ex: {@code CarValueIndex}),
+     * mantido atualizado pelo setter gerado. Suportado para {@code String} e
+     * wrappers numéricos inteiros ({@code Long}, {@code Integer}, {@code Short},
+     * {@code Byte}, {@code Character}).
+     */
+    boolean indexed() default false;
+
+    /**
+     * Quando {@link #indexed()} está ativo, mantém as chaves ordenadas,
+     * habilitando consultas por intervalo.
+     */
+    boolean sorted() default false;
+
+    /**
+     * Armazena o campo de forma esparsa: em vez de um campo de instância, o valor fica
+     * em um array de extensão ({@code Object[]}) alocado apenas na primeira atribuição
+     * não nula, e é acessado pelo getter/setter gerados. Instâncias que nunca usam
+     * campos esparsos pagam apenas por uma referência nula.
+     */
+    boolean sparse() default false;
+
+    /**
+     * Gera um contador {@code long} para acesso concorrente intenso: em vez de um campo
+     * simples, são injetados uma base e uma tabela de células (criada apenas sob disputa)
+     * e os métodos {@code increment<Campo>()}, {@code add<Campo>(long)}, {@code sum<Campo>()}
+     * e {@code sumThenReset<Campo>()}. O tipo deve ser {@code long} ou {@code Long}.
+     */
+    boolean counter() default false;
+
+    /**
+     * Gera uma lista de primitivos ({@code int}, {@code long} ou {@code double}, informados
+     * em {@link #type()}) armazenada na própria classe: um array de apoio e um tamanho, com
+     * os métodos {@code add<Campo>}, {@code get<Campo>(int)}, {@code <campo>Size()},
+     * {@code clear<Campo>()}, {@code forEach<Campo>} e {@code <campo>ToArray()}.
+     * Substitui campos como {@code List<Long>} sem boxing nem objeto de lista.
+     */
+    boolean collection() default false;
+
+    /**
+     * Tamanho máximo, em bytes UTF-8, de um campo {@code String} gravado pelo
+     * {@code <Classe>Store} ({@code @AddFields(store = true)}). Define o tamanho fixo do registro.
+     * Ignorado para os demais tipos.
+     */
+    int length() default 32;
 }
@@ -0,0 +1,25 @@
+package br.com.restick.api.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+
+/**
+ * Conjunto reutilizável de {@link FieldDef}, declarado em um tipo "portador"
+ * (normalmente uma interface vazia) e referenciado por {@link AddFields#sets()}.
+ * <p>
+ * Mantido no bytecode ({@link RetentionPolicy#CLASS}) para que conjuntos declarados
+ * em outros módulos continuem visíveis ao processor.
+ * </p>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(TYPE)
+public @interface FieldSet {
+
+    /**
+     * Definições de campos do conjunto.
+     */
+    FieldDef[] value();
+}
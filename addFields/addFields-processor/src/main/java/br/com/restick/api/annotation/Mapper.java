@@ -0,0 +1,27 @@
+package br.com.restick.api.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+
+/**
+ * Gera, em tempo de compilação, um mapper de {@link #source()} para {@link #target()}
+ * com cópia campo a campo (sem reflexão). A classe gerada recebe o nome do tipo
+ * anotado com o sufixo {@code Impl} (ex: {@code CarMapper} -> {@code CarMapperImpl}).
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(TYPE)
+public @interface Mapper {
+
+    /**
+     * Tipo de origem dos dados.
+     */
+    Class<?> source();
+
+    /**
+     * Tipo de destino. Deve possuir construtor vazio acessível.
+     */
+    Class<?> target();
+}
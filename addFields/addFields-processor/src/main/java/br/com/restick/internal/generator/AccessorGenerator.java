@@ -0,0 +1,241 @@
+package br.com.restick.internal.generator;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Cria, diretamente na AST, os métodos de acesso injetados nas classes anotadas.
+ * <p>
+ * Os nós são construídos com o {@link TreeMaker} do javac, da mesma forma que os
+ * campos gerados, e referenciam as classes companheiras pelo nome simples (mesmo pacote).
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class AccessorGenerator {
+
+    /** Nome do array de extensão que armazena os campos esparsos */
+    public static final String SPARSE_FIELD = "$sparse";
+
+    private final TreeMaker maker;
+
+    private final Names names;
+
+    /**
+     * Cria o setter de um campo indexado:
+     * <pre>{@code
+     * public void setValue(Long value) {
+     *     CarValueIndex.update(this, this.value, value);
+     *     this.value = value;
+     * }
+     * }</pre>
+     *
+     * @param fieldName nome do campo
+     * @param fieldType tipo do campo
+     * @param indexName nome simples da classe de índice
+     */
+    public JCTree.JCMethodDecl indexedSetter(String fieldName, TypeMirror fieldType, String indexName) {
+        JCTree.JCStatement update = maker.Exec(maker.Apply(
+                List.nil(),
+                maker.Select(typeTree(indexName), names.fromString(IndexGenerator.UPDATE_METHOD)),
+                List.of(maker.Ident(names._this), thisField(fieldName), maker.Ident(names.fromString(fieldName)))
+        ));
+
+        return setter(fieldName, fieldType, List.of(update, assignField(fieldName)));
+    }
+
+    /**
+     * Cria o getter de um campo indexado, que permite declarar o campo privado:
+     * <pre>{@code
+     * public Long getValue() {
+     *     return this.value;
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl indexedGetter(String fieldName, TypeMirror fieldType) {
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(GeneratedNames.getter(fieldName)),
+                typeTree(fieldType),
+                List.nil(),
+                List.nil(),
+                List.nil(),
+                maker.Block(0, List.of(maker.Return(thisField(fieldName)))),
+                null
+        );
+    }
+
+    /**
+     * {@code private Object[] $sparse;} — alocado apenas na primeira atribuição não nula.
+     */
+    public JCTree.JCVariableDecl sparseField() {
+        return maker.VarDef(
+                maker.Modifiers(Flags.PRIVATE),
+                names.fromString(SPARSE_FIELD),
+                maker.TypeArray(typeTree("java.lang.Object")),
+                null
+        );
+    }
+
+    /**
+     * Cria o getter de um campo esparso:
+     * <pre>{@code
+     * public String getNickname() {
+     *     return this.$sparse == null ? null : (String) this.$sparse[0];
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl sparseGetter(String fieldName, TypeMirror fieldType, int slot) {
+        JCTree.JCExpression value = maker.Conditional(
+                isSparseNull(),
+                maker.Literal(TypeTag.BOT, null),
+                maker.TypeCast(typeTree(fieldType), sparseSlot(slot))
+        );
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(GeneratedNames.getter(fieldName)),
+                typeTree(fieldType),
+                List.nil(),
+                List.nil(),
+                List.nil(),
+                maker.Block(0, List.of(maker.Return(value))),
+                null
+        );
+    }
+
+    /**
+     * Cria o setter de um campo esparso. Se o campo for indexado, o índice é
+     * atualizado antes da escrita:
+     * <pre>{@code
+     * public void setNickname(String nickname) {
+     *     CarNicknameIndex.update(this, this.getNickname(), nickname); // apenas se indexado
+     *     if (this.$sparse == null) {
+     *         if (nickname == null) {
+     *             return;
+     *         }
+     *         this.$sparse = new Object[slots];
+     *     }
+     *     this.$sparse[0] = nickname;
+     * }
+     * }</pre>
+     *
+     * @param slots tamanho do array de extensão (quantidade de campos esparsos da classe)
+     * @param indexName classe de índice do campo, ou {@code null} se não indexado
+     */
+    public JCTree.JCMethodDecl sparseSetter(String fieldName, TypeMirror fieldType, int slot, int slots, String indexName) {
+        JCTree.JCExpression param = maker.Ident(names.fromString(fieldName));
+        List<JCTree.JCStatement> body = List.nil();
+
+        if (indexName != null) {
+            JCTree.JCExpression current = maker.Apply(
+                    List.nil(),
+                    maker.Select(maker.Ident(names._this), names.fromString(GeneratedNames.getter(fieldName))),
+                    List.nil()
+            );
+            body = body.append(maker.Exec(maker.Apply(
+                    List.nil(),
+                    maker.Select(typeTree(indexName), names.fromString(IndexGenerator.UPDATE_METHOD)),
+                    List.of(maker.Ident(names._this), current, maker.Ident(names.fromString(fieldName)))
+            )));
+        }
+
+        JCTree.JCStatement allocate = maker.Block(0, List.of(
+                maker.If(
+                        maker.Binary(JCTree.Tag.EQ, param, maker.Literal(TypeTag.BOT, null)),
+                        maker.Block(0, List.of(maker.Return(null))),
+                        null
+                ),
+                maker.Exec(maker.Assign(
+                        thisField(SPARSE_FIELD),
+                        maker.NewArray(typeTree("java.lang.Object"), List.of(maker.Literal(slots)), null)
+                ))
+        ));
+
+        body = body
+                .append(maker.If(isSparseNull(), allocate, null))
+                .append(maker.Exec(maker.Assign(sparseSlot(slot), maker.Ident(names.fromString(fieldName)))));
+
+        return setter(fieldName, fieldType, body);
+    }
+
+    /** {@code this.$sparse == null} */
+    private JCTree.JCExpression isSparseNull() {
+        return maker.Binary(JCTree.Tag.EQ, thisField(SPARSE_FIELD), maker.Literal(TypeTag.BOT, null));
+    }
+
+    /** {@code this.$sparse[slot]} */
+    private JCTree.JCExpression sparseSlot(int slot) {
+        return maker.Indexed(thisField(SPARSE_FIELD), maker.Literal(slot));
+    }
+
+    /**
+     * Cria um setter público cujo corpo é formado pelas instruções informadas.
+     */
+    private JCTree.JCMethodDecl setter(String fieldName, TypeMirror fieldType, List<JCTree.JCStatement> body) {
+        JCTree.JCVariableDecl param = maker.VarDef(
+                maker.Modifiers(Flags.PARAMETER),
+                names.fromString(fieldName),
+                typeTree(fieldType),
+                null
+        );
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(GeneratedNames.setter(fieldName)),
+                maker.TypeIdent(TypeTag.VOID),
+                List.nil(),
+                List.of(param),
+                List.nil(),
+                maker.Block(0, body),
+                null
+        );
+    }
+
+    /** {@code this.field = field;} */
+    private JCTree.JCStatement assignField(String fieldName) {
+        return maker.Exec(maker.Assign(thisField(fieldName), maker.Ident(names.fromString(fieldName))));
+    }
+
+    /** {@code this.field} */
+    private JCTree.JCExpression thisField(String fieldName) {
+        return maker.Select(maker.Ident(names._this), names.fromString(fieldName));
+    }
+
+    /**
+     * Converte um tipo em uma expressão da AST: primitivos em {@code TypeIdent}, arrays
+     * em {@code TypeArray} e classes pelo nome qualificado.
+     */
+    public JCTree.JCExpression typeTree(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return maker.TypeIdent(TypeTag.valueOf(type.getKind().name()));
+        }
+        if (type instanceof ArrayType array) {
+            return maker.TypeArray(typeTree(array.getComponentType()));
+        }
+        return typeTree(GeneratedNames.typeName(type));
+    }
+
+    /**
+     * Converte um nome de tipo ({@code Long} ou {@code java.lang.Long}) em uma
+     * expressão {@code Ident}/{@code Select} da AST.
+     */
+    public JCTree.JCExpression typeTree(String typeName) {
+        String[] parts = typeName.split("\\.");
+        JCTree.JCExpression tree = maker.Ident(names.fromString(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            tree = maker.Select(tree, names.fromString(parts[i]));
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,298 @@
+package br.com.restick.internal.generator;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gera os campos marcados com {@code collection = true}: listas de {@code int},
+ * {@code long} ou {@code double} armazenadas diretamente na classe, sem boxing e sem
+ * um objeto de lista por instância.
+ * <p>
+ * Para o campo {@code samples} do tipo {@code long} são injetados:
+ * <ul>
+ *   <li>{@code private long[] $samplesData} e {@code private int $samplesSize}: array de
+ *       apoio (alocado no primeiro {@code add}) e quantidade de elementos;</li>
+ *   <li>{@code addSamples(long)}, com crescimento amortizado de 1,5x;</li>
+ *   <li>{@code getSamples(int)}, {@code samplesSize()}, {@code clearSamples()} (mantém a
+ *       capacidade), {@code forEachSamples(LongConsumer)} e {@code samplesToArray()}.</li>
+ * </ul>
+ * Os métodos gerados não são thread-safe.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class CollectionGenerator {
+
+    /** Capacidade inicial do array de apoio */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Tipo primitivo do elemento, por wrapper aceito em {@code FieldDef#type()} */
+    private static final Map<String, TypeKind> WRAPPERS = Map.of(
+            "java.lang.Integer", TypeKind.INT,
+            "java.lang.Long", TypeKind.LONG,
+            "java.lang.Double", TypeKind.DOUBLE
+    );
+
+    /** Interface funcional usada por {@code forEach}, por tipo de elemento */
+    private static final Map<TypeKind, String> CONSUMERS = Map.of(
+            TypeKind.INT, "java.util.function.IntConsumer",
+            TypeKind.LONG, "java.util.function.LongConsumer",
+            TypeKind.DOUBLE, "java.util.function.DoubleConsumer"
+    );
+
+    private static final Map<TypeKind, TypeTag> TAGS = Map.of(
+            TypeKind.INT, TypeTag.INT,
+            TypeKind.LONG, TypeTag.LONG,
+            TypeKind.DOUBLE, TypeTag.DOUBLE
+    );
+
+    private final TreeMaker maker;
+
+    private final Names names;
+
+    private final AccessorGenerator accessors;
+
+    /**
+     * Tipo primitivo dos elementos ({@code int}, {@code long} ou {@code double}, ou os
+     * respectivos wrappers), ou {@code null} se o tipo não for suportado.
+     */
+    public static TypeKind elementKind(TypeMirror fieldType) {
+        if (CONSUMERS.containsKey(fieldType.getKind())) {
+            return fieldType.getKind();
+        }
+        if (fieldType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) fieldType).asElement();
+        return WRAPPERS.get(element.getQualifiedName().toString());
+    }
+
+    /**
+     * Nomes dos métodos injetados para o campo, associados à quantidade de parâmetros.
+     */
+    public static Map<String, Integer> methodNames(String fieldName) {
+        String capitalized = GeneratedNames.capitalize(fieldName);
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        methods.put("add" + capitalized, 1);
+        methods.put("get" + capitalized, 1);
+        methods.put(fieldName + "Size", 0);
+        methods.put("clear" + capitalized, 0);
+        methods.put("forEach" + capitalized, 1);
+        methods.put(fieldName + "ToArray", 0);
+        return methods;
+    }
+
+    /** Nome do array de apoio (ex: {@code samples} -> {@code $samplesData}) */
+    public static String dataField(String fieldName) {
+        return "$" + fieldName + "Data";
+    }
+
+    /** Nome do contador de elementos (ex: {@code samples} -> {@code $samplesSize}) */
+    public static String sizeField(String fieldName) {
+        return "$" + fieldName + "Size";
+    }
+
+    /**
+     * {@code private long[] $samplesData;} e {@code private int $samplesSize;}
+     */
+    public List<JCTree> fields(String fieldName, TypeKind kind) {
+        return List.of(
+                maker.VarDef(maker.Modifiers(Flags.PRIVATE), names.fromString(dataField(fieldName)), arrayType(kind), null),
+                maker.VarDef(maker.Modifiers(Flags.PRIVATE), names.fromString(sizeField(fieldName)), maker.TypeIdent(TypeTag.INT), null)
+        );
+    }
+
+    /**
+     * Cria os métodos de acesso da coleção, na ordem de {@link #methodNames(String)}.
+     */
+    public List<JCTree> methods(String fieldName, TypeKind kind) {
+        String capitalized = GeneratedNames.capitalize(fieldName);
+
+        return List.of(
+                add(fieldName, "add" + capitalized, kind),
+                get(fieldName, "get" + capitalized, kind),
+                method(fieldName + "Size", maker.TypeIdent(TypeTag.INT), List.nil(),
+                        List.of(maker.Return(thisField(sizeField(fieldName))))),
+                method("clear" + capitalized, maker.TypeIdent(TypeTag.VOID), List.nil(),
+                        List.of(maker.Exec(maker.Assign(thisField(sizeField(fieldName)), maker.Literal(0))))),
+                forEach(fieldName, "forEach" + capitalized, kind),
+                toArray(fieldName, fieldName + "ToArray", kind)
+        );
+    }
+
+    /**
+     * <pre>{@code
+     * public void addSamples(long value) {
+     *     long[] data = this.$samplesData;
+     *     int size = this.$samplesSize;
+     *     if (data == null) {
+     *         data = this.$samplesData = new long[8];
+     *     } else if (size == data.length) {
+     *         data = this.$samplesData = java.util.Arrays.copyOf(data, size + (size >> 1));
+     *     }
+     *     data[size] = value;
+     *     this.$samplesSize = size + 1;
+     * }
+     * }</pre>
+     */
+    private JCTree.JCMethodDecl add(String fieldName, String methodName, TypeKind kind) {
+        JCTree.JCExpression grown = maker.Binary(
+                JCTree.Tag.PLUS,
+                ident("size"),
+                maker.Parens(maker.Binary(JCTree.Tag.SR, ident("size"), maker.Literal(1)))
+        );
+
+        JCTree.JCStatement allocate = maker.If(
+                maker.Binary(JCTree.Tag.EQ, ident("data"), maker.Literal(TypeTag.BOT, null)),
+                maker.Exec(assignData(fieldName,
+                        maker.NewArray(maker.TypeIdent(TAGS.get(kind)), List.of(maker.Literal(INITIAL_CAPACITY)), null))),
+                maker.If(
+                        maker.Binary(JCTree.Tag.EQ, ident("size"), maker.Select(ident("data"), names.length)),
+                        maker.Exec(assignData(fieldName, copyOf(ident("data"), grown))),
+                        null
+                )
+        );
+
+        return method(methodName, maker.TypeIdent(TypeTag.VOID), List.of(param("value", maker.TypeIdent(TAGS.get(kind)))), List.of(
+                local("data", arrayType(kind), thisField(dataField(fieldName))),
+                local("size", maker.TypeIdent(TypeTag.INT), thisField(sizeField(fieldName))),
+                allocate,
+                maker.Exec(maker.Assign(maker.Indexed(ident("data"), ident("size")), ident("value"))),
+                maker.Exec(maker.Assign(
+                        thisField(sizeField(fieldName)),
+                        maker.Binary(JCTree.Tag.PLUS, ident("size"), maker.Literal(1))
+                ))
+        ));
+    }
+
+    /**
+     * <pre>{@code
+     * public long getSamples(int index) {
+     *     java.util.Objects.checkIndex(index, this.$samplesSize);
+     *     return this.$samplesData[index];
+     * }
+     * }</pre>
+     */
+    private JCTree.JCMethodDecl get(String fieldName, String methodName, TypeKind kind) {
+        return method(methodName, maker.TypeIdent(TAGS.get(kind)), List.of(param("index", maker.TypeIdent(TypeTag.INT))), List.of(
+                maker.Exec(maker.Apply(
+                        List.nil(),
+                        maker.Select(accessors.typeTree("java.util.Objects"), names.fromString("checkIndex")),
+                        List.of(ident("index"), thisField(sizeField(fieldName)))
+                )),
+                maker.Return(maker.Indexed(thisField(dataField(fieldName)), ident("index")))
+        ));
+    }
+
+    /**
+     * <pre>{@code
+     * public void forEachSamples(java.util.function.LongConsumer action) {
+     *     long[] data = this.$samplesData;
+     *     for (int i = 0, n = this.$samplesSize; i < n; i++) {
+     *         action.accept(data[i]);
+     *     }
+     * }
+     * }</pre>
+     */
+    private JCTree.JCMethodDecl forEach(String fieldName, String methodName, TypeKind kind) {
+        JCTree.JCStatement loop = maker.ForLoop(
+                List.of(
+                        local("i", maker.TypeIdent(TypeTag.INT), maker.Literal(0)),
+                        local("n", maker.TypeIdent(TypeTag.INT), thisField(sizeField(fieldName)))
+                ),
+                maker.Binary(JCTree.Tag.LT, ident("i"), ident("n")),
+                List.of(maker.Exec(maker.Unary(JCTree.Tag.POSTINC, ident("i")))),
+                maker.Block(0, List.of(maker.Exec(maker.Apply(
+                        List.nil(),
+                        maker.Select(ident("action"), names.fromString("accept")),
+                        List.of(maker.Indexed(ident("data"), ident("i")))
+                ))))
+        );
+
+        return method(methodName, maker.TypeIdent(TypeTag.VOID),
+                List.of(param("action", accessors.typeTree(CONSUMERS.get(kind)))), List.of(
+                        local("data", arrayType(kind), thisField(dataField(fieldName))),
+                        loop
+                ));
+    }
+
+    /**
+     * <pre>{@code
+     * public long[] samplesToArray() {
+     *     return this.$samplesData == null ? new long[0] : java.util.Arrays.copyOf(this.$samplesData, this.$samplesSize);
+     * }
+     * }</pre>
+     */
+    private JCTree.JCMethodDecl toArray(String fieldName, String methodName, TypeKind kind) {
+        JCTree.JCExpression value = maker.Conditional(
+                maker.Binary(JCTree.Tag.EQ, thisField(dataField(fieldName)), maker.Literal(TypeTag.BOT, null)),
+                maker.NewArray(maker.TypeIdent(TAGS.get(kind)), List.of(maker.Literal(0)), null),
+                copyOf(thisField(dataField(fieldName)), thisField(sizeField(fieldName)))
+        );
+
+        return method(methodName, arrayType(kind), List.nil(), List.of(maker.Return(value)));
+    }
+
+    private JCTree.JCMethodDecl method(String name, JCTree.JCExpression returnType,
+                                       List<JCTree.JCVariableDecl> params, List<JCTree.JCStatement> body) {
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(name),
+                returnType,
+                List.nil(),
+                params,
+                List.nil(),
+                maker.Block(0, body),
+                null
+        );
+    }
+
+    /** {@code data = this.$samplesData = value} */
+    private JCTree.JCExpression assignData(String fieldName, JCTree.JCExpression value) {
+        return maker.Assign(ident("data"), maker.Assign(thisField(dataField(fieldName)), value));
+    }
+
+    /** {@code java.util.Arrays.copyOf(array, length)} */
+    private JCTree.JCExpression copyOf(JCTree.JCExpression array, JCTree.JCExpression length) {
+        return maker.Apply(
+                List.nil(),
+                maker.Select(accessors.typeTree("java.util.Arrays"), names.fromString("copyOf")),
+                List.of(array, length)
+        );
+    }
+
+    private JCTree.JCVariableDecl param(String name, JCTree.JCExpression type) {
+        return maker.VarDef(maker.Modifiers(Flags.PARAMETER), names.fromString(name), type, null);
+    }
+
+    private JCTree.JCVariableDecl local(String name, JCTree.JCExpression type, JCTree.JCExpression init) {
+        return maker.VarDef(maker.Modifiers(0), names.fromString(name), type, init);
+    }
+
+    private JCTree.JCExpression arrayType(TypeKind kind) {
+        return maker.TypeArray(maker.TypeIdent(TAGS.get(kind)));
+    }
+
+    private JCTree.JCExpression ident(String name) {
+        return maker.Ident(names.fromString(name));
+    }
+
+    /** {@code this.field} */
+    private JCTree.JCExpression thisField(String fieldName) {
+        return maker.Select(maker.Ident(names._this), names.fromString(fieldName));
+    }
+}
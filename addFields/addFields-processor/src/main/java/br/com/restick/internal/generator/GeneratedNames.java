@@ -0,0 +1,95 @@
+package br.com.restick.internal.generator;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Convenções de nomes para membros e classes companheiras geradas pelo processor.
+ *
+ * @author William
+ * @since 1.0
+ */
+public final class GeneratedNames {
+
+    private GeneratedNames() {
+    }
+
+    /**
+     * Nome do setter gerado para o campo (ex: {@code value} -> {@code setValue}).
+     */
+    public static String setter(String fieldName) {
+        return "set" + capitalize(fieldName);
+    }
+
+    /**
+     * Nome do getter gerado para o campo (ex: {@code value} -> {@code getValue}).
+     */
+    public static String getter(String fieldName) {
+        return "get" + capitalize(fieldName);
+    }
+
+    /**
+     * Nome simples de uma classe companheira (ex: {@code Car}, {@code value},
+     * {@code Index} -> {@code CarValueIndex}).
+     */
+    public static String companion(TypeElement owner, String fieldName, String suffix) {
+        return ownerName(owner) + capitalize(fieldName) + suffix;
+    }
+
+    /**
+     * Prefixo das classes companheiras da classe informada. Classes aninhadas incluem as
+     * classes externas (ex: {@code Garage.Car} -> {@code GarageCar}), já que as companheiras
+     * são geradas no topo do pacote e classes homônimas não podem colidir.
+     */
+    public static String ownerName(TypeElement owner) {
+        StringBuilder name = new StringBuilder(owner.getSimpleName());
+        Element enclosing = owner.getEnclosingElement();
+        while (enclosing instanceof TypeElement outer) {
+            name.insert(0, outer.getSimpleName());
+            enclosing = outer.getEnclosingElement();
+        }
+        return name.toString();
+    }
+
+    /**
+     * Nome do pacote da classe informada, ou {@code ""} para o pacote padrão.
+     */
+    public static String packageOf(TypeElement owner) {
+        Element enclosing = owner.getEnclosingElement();
+        while (enclosing != null && enclosing.getKind() != ElementKind.PACKAGE) {
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return enclosing == null ? "" : ((PackageElement) enclosing).getQualifiedName().toString();
+    }
+
+    /**
+     * Nome qualificado de uma classe gerada no mesmo pacote da classe informada.
+     */
+    public static String qualified(TypeElement owner, String simpleName) {
+        String pkg = packageOf(owner);
+        return pkg.isEmpty() ? simpleName : pkg + "." + simpleName;
+    }
+
+    /**
+     * Nome do tipo como usado no código gerado: primitivos pelo nome ({@code long}),
+     * classes pelo nome qualificado e arrays pela descrição do javac.
+     */
+    public static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    public static String capitalize(String name) {
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,452 @@
+package br.com.restick.internal.generator;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gera a classe companheira de índice secundário para campos marcados com
+ * {@code indexed = true} (ex: {@code CarValueIndex} para o campo {@code value} de {@code Car}).
+ * <p>
+ * Campos numéricos são indexados por chave primitiva {@code long} em uma tabela hash
+ * de endereçamento aberto; campos {@code String} usam a mesma estrutura com chaves
+ * {@code String}. Com {@code sorted = true} as chaves são mantidas em um array
+ * ordenado, permitindo consultas por intervalo via busca binária.
+ * </p>
+ *
+ * <p>
+ * {@code Double} e {@code Float} viram chaves {@code long} pelos bits do valor
+ * ({@code doubleToLongBits}/{@code floatToIntBits}), com os bits de valores negativos
+ * invertidos para que a ordem das chaves siga a ordem numérica; as consultas continuam
+ * recebendo {@code double}/{@code float}. Como em {@code Double.equals}, {@code 0.0} e
+ * {@code -0.0} são chaves distintas e todos os {@code NaN} são a mesma chave.
+ * </p>
+ *
+ * <p>
+ * O índice é estático (um por campo da classe) e atualizado pelo setter gerado.
+ * Consultas ({@code count}, {@code first}, {@code get}, {@code forEach},
+ * {@code forEachInRange}) não alocam.
+ * </p>
+ *
+ * <p>
+ * O índice guarda referências fortes: toda instância com valor não nulo no campo
+ * permanece alcançável (e não é coletada) até receber {@code null} pelo setter, ser
+ * removida por {@code remove} ou até {@code clear()}. O índice é global à classe e não
+ * é thread-safe: setters e consultas concorrentes exigem sincronização externa.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class IndexGenerator {
+
+    /** Sufixo da classe companheira */
+    public static final String SUFFIX = "Index";
+
+    /** Nome do método estático chamado pelo setter gerado */
+    public static final String UPDATE_METHOD = "update";
+
+    /** Conversão do valor do campo para a chave primitiva, por tipo suportado */
+    private static final Map<String, String> LONG_KEYS = Map.of(
+            "java.lang.Long", "%s.longValue()",
+            "java.lang.Integer", "%s.longValue()",
+            "java.lang.Short", "%s.longValue()",
+            "java.lang.Byte", "%s.longValue()",
+            "java.lang.Character", "%s.charValue()",
+            "java.lang.Double", "keyOf(%s.doubleValue())",
+            "java.lang.Float", "keyOf(%s.floatValue())"
+    );
+
+    /** Tipo recebido pelas consultas e conversão para a chave, quando diferente da chave */
+    private static final Map<String, String[]> BITS_KEYS = Map.of(
+            "java.lang.Double", new String[]{"double",
+                    "long bits = Double.doubleToLongBits(value);\n"
+                            + "        return bits ^ ((bits >> 63) & 0x7fffffffffffffffL);"},
+            "java.lang.Float", new String[]{"float",
+                    "int bits = Float.floatToIntBits(value);\n"
+                            + "        return bits ^ ((bits >> 31) & 0x7fffffff);"}
+    );
+
+    private final SourceWriter writer;
+
+    /**
+     * Indica se o tipo informado pode ser usado como chave de índice.
+     */
+    public static boolean supports(TypeElement fieldType) {
+        String name = fieldType.getQualifiedName().toString();
+        return LONG_KEYS.containsKey(name) || "java.lang.String".equals(name);
+    }
+
+    /**
+     * Gera a classe de índice para o campo informado.
+     *
+     * @param owner classe anotada
+     * @param fieldName nome do campo indexado
+     * @param fieldType tipo do campo (deve satisfazer {@link #supports(TypeElement)})
+     * @param sorted se as chaves devem ser mantidas ordenadas
+     * @return nome simples da classe gerada, ou {@code null} em caso de falha
+     */
+    public String generate(TypeElement owner, String fieldName, TypeElement fieldType, boolean sorted) {
+        String indexName = GeneratedNames.companion(owner, fieldName, SUFFIX);
+        String typeName = fieldType.getQualifiedName().toString();
+        boolean numeric = LONG_KEYS.containsKey(typeName);
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("packageDecl", SourceWriter.packageDecl(GeneratedNames.packageOf(owner)));
+        values.put("index", indexName);
+        values.put("owner", owner.getQualifiedName().toString());
+        values.put("field", fieldName);
+        values.put("setter", GeneratedNames.setter(fieldName));
+        values.put("fieldType", typeName);
+        values.put("keyType", numeric ? "long" : "String");
+        String[] bits = BITS_KEYS.get(typeName);
+        values.put("queryType", bits != null ? bits[0] : numeric ? "long" : "String");
+        values.put("keyOf", bits != null ? bits[1] : "return value;");
+        values.put("oldKey", numeric ? LONG_KEYS.get(typeName).formatted("oldValue") : "oldValue");
+        values.put("newKey", numeric ? LONG_KEYS.get(typeName).formatted("newValue") : "newValue");
+        values.put("equals", numeric ? "keys[i] == key" : "key.equals(keys[i])");
+        values.put("hash", numeric
+                ? "long h = key * 0x9E3779B97F4A7C15L;\n        return (int) (h ^ (h >>> 32));"
+                : "int h = key.hashCode();\n        return h ^ (h >>> 16);");
+        values.put("lessThanTo", numeric ? "keys[i] < upper" : "keys[i].compareTo(upper) < 0");
+        values.put("releaseKey", numeric ? "" : "\n            keys[length] = null;");
+
+        String source = SourceWriter.render(sorted ? SORTED_TEMPLATE : HASH_TEMPLATE, values);
+        return writer.write(owner, GeneratedNames.qualified(owner, indexName), source) ? indexName : null;
+    }
+
+    private static final String HASH_TEMPLATE = """
+            ${packageDecl}import java.util.Arrays;
+            import java.util.function.Consumer;
+            import javax.annotation.processing.Generated;
+
+            /**
+             * Índice secundário do campo {@code ${field}} de {@link ${owner}}.
+             * <p>
+             * Tabela hash de endereçamento aberto com chaves {@code ${keyType}}, mantida pelo
+             * setter {@code ${owner}.${setter}}. Atribuir {@code null} remove a instância do
+             * índice. Consultas não alocam.
+             * </p>
+             * <p>
+             * Guarda referências fortes: instâncias indexadas não são coletadas até serem
+             * removidas (setter com {@code null}, {@code remove} ou {@code clear()}). Global à
+             * classe e não thread-safe: acesso concorrente exige sincronização externa.
+             * </p>
+             */
+            @Generated("br.com.restick.internal.processor.AddFieldsProcessor")
+            public final class ${index} {
+
+                private static ${keyType}[] keys = new ${keyType}[16];
+                private static boolean[] used = new boolean[16];
+                private static Object[][] buckets = new Object[16][];
+                private static int[] sizes = new int[16];
+                private static int occupied;
+
+                private ${index}() {
+                }
+
+                public static int count(${queryType} value) {
+                    int slot = find(keyOf(value));
+                    return slot < 0 ? 0 : sizes[slot];
+                }
+
+                public static ${owner} first(${queryType} value) {
+                    return get(value, 0);
+                }
+
+                public static ${owner} get(${queryType} value, int index) {
+                    int slot = find(keyOf(value));
+                    return slot < 0 || index >= sizes[slot] ? null : (${owner}) buckets[slot][index];
+                }
+
+                public static void forEach(${queryType} value, Consumer<? super ${owner}> action) {
+                    int slot = find(keyOf(value));
+                    if (slot < 0) {
+                        return;
+                    }
+                    Object[] bucket = buckets[slot];
+                    for (int i = 0, n = sizes[slot]; i < n; i++) {
+                        action.accept((${owner}) bucket[i]);
+                    }
+                }
+
+                public static void remove(${owner} owner, ${queryType} value) {
+                    removeKey(owner, keyOf(value));
+                }
+
+                private static void removeKey(${owner} owner, ${keyType} key) {
+                    int slot = find(key);
+                    if (slot < 0) {
+                        return;
+                    }
+                    Object[] bucket = buckets[slot];
+                    int last = sizes[slot] - 1;
+                    for (int i = last; i >= 0; i--) {
+                        if (bucket[i] == owner) {
+                            bucket[i] = bucket[last];
+                            bucket[last] = null;
+                            sizes[slot] = last;
+                            return;
+                        }
+                    }
+                }
+
+                public static void clear() {
+                    keys = new ${keyType}[16];
+                    used = new boolean[16];
+                    buckets = new Object[16][];
+                    sizes = new int[16];
+                    occupied = 0;
+                }
+
+                static void update(${owner} owner, ${fieldType} oldValue, ${fieldType} newValue) {
+                    if (oldValue != null) {
+                        removeKey(owner, ${oldKey});
+                    }
+                    if (newValue != null) {
+                        add(owner, ${newKey});
+                    }
+                }
+
+                private static void add(${owner} owner, ${keyType} key) {
+                    int slot = find(key);
+                    if (slot < 0) {
+                        ensureCapacity();
+                        slot = insert(key);
+                    }
+                    Object[] bucket = buckets[slot];
+                    int size = sizes[slot];
+                    if (bucket == null) {
+                        bucket = buckets[slot] = new Object[4];
+                    } else if (size == bucket.length) {
+                        bucket = buckets[slot] = Arrays.copyOf(bucket, size << 1);
+                    }
+                    bucket[size] = owner;
+                    sizes[slot] = size + 1;
+                }
+
+                private static int find(${keyType} key) {
+                    int mask = keys.length - 1;
+                    for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+                        if (${equals}) {
+                            return i;
+                        }
+                    }
+                    return -1;
+                }
+
+                private static int insert(${keyType} key) {
+                    int mask = keys.length - 1;
+                    int i = hash(key) & mask;
+                    while (used[i]) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = key;
+                    used[i] = true;
+                    occupied++;
+                    return i;
+                }
+
+                // Chaves sem instâncias permanecem na tabela até o próximo rehash, que as descarta.
+                private static void ensureCapacity() {
+                    if ((occupied + 1) * 2 <= keys.length) {
+                        return;
+                    }
+                    int live = 0;
+                    for (int i = 0; i < keys.length; i++) {
+                        if (used[i] && sizes[i] > 0) {
+                            live++;
+                        }
+                    }
+                    int capacity = keys.length;
+                    while ((live + 1) * 4 > capacity) {
+                        capacity <<= 1;
+                    }
+                    ${keyType}[] oldKeys = keys;
+                    boolean[] oldUsed = used;
+                    Object[][] oldBuckets = buckets;
+                    int[] oldSizes = sizes;
+                    keys = new ${keyType}[capacity];
+                    used = new boolean[capacity];
+                    buckets = new Object[capacity][];
+                    sizes = new int[capacity];
+                    occupied = 0;
+                    for (int i = 0; i < oldKeys.length; i++) {
+                        if (oldUsed[i] && oldSizes[i] > 0) {
+                            int slot = insert(oldKeys[i]);
+                            buckets[slot] = oldBuckets[i];
+                            sizes[slot] = oldSizes[i];
+                        }
+                    }
+                }
+
+                private static int hash(${keyType} key) {
+                    ${hash}
+                }
+
+                private static ${keyType} keyOf(${queryType} value) {
+                    ${keyOf}
+                }
+            }
+            """;
+
+    private static final String SORTED_TEMPLATE = """
+            ${packageDecl}import java.util.Arrays;
+            import java.util.function.Consumer;
+            import javax.annotation.processing.Generated;
+
+            /**
+             * Índice secundário ordenado do campo {@code ${field}} de {@link ${owner}}.
+             * <p>
+             * Chaves {@code ${keyType}} mantidas em array ordenado (busca binária), mantido pelo
+             * setter {@code ${owner}.${setter}}. Atribuir {@code null} remove a instância do
+             * índice. Consultas não alocam.
+             * </p>
+             * <p>
+             * Guarda referências fortes: instâncias indexadas não são coletadas até serem
+             * removidas (setter com {@code null}, {@code remove} ou {@code clear()}). Global à
+             * classe e não thread-safe: acesso concorrente exige sincronização externa.
+             * </p>
+             */
+            @Generated("br.com.restick.internal.processor.AddFieldsProcessor")
+            public final class ${index} {
+
+                private static ${keyType}[] keys = new ${keyType}[16];
+                private static Object[][] buckets = new Object[16][];
+                private static int[] sizes = new int[16];
+                private static int length;
+
+                private ${index}() {
+                }
+
+                public static int count(${queryType} value) {
+                    int slot = find(keyOf(value));
+                    return slot < 0 ? 0 : sizes[slot];
+                }
+
+                public static ${owner} first(${queryType} value) {
+                    return get(value, 0);
+                }
+
+                public static ${owner} get(${queryType} value, int index) {
+                    int slot = find(keyOf(value));
+                    return slot < 0 || index >= sizes[slot] ? null : (${owner}) buckets[slot][index];
+                }
+
+                public static void forEach(${queryType} value, Consumer<? super ${owner}> action) {
+                    int slot = find(keyOf(value));
+                    if (slot >= 0) {
+                        forEachIn(slot, action);
+                    }
+                }
+
+                /**
+                 * Aplica {@code action} às instâncias com chave no intervalo [{@code from}, {@code to}).
+                 */
+                public static void forEachInRange(${queryType} from, ${queryType} to, Consumer<? super ${owner}> action) {
+                    ${keyType} upper = keyOf(to);
+                    int i = Arrays.binarySearch(keys, 0, length, keyOf(from));
+                    if (i < 0) {
+                        i = -i - 1;
+                    }
+                    for (; i < length && ${lessThanTo}; i++) {
+                        forEachIn(i, action);
+                    }
+                }
+
+                public static void remove(${owner} owner, ${queryType} value) {
+                    removeKey(owner, keyOf(value));
+                }
+
+                private static void removeKey(${owner} owner, ${keyType} key) {
+                    int slot = find(key);
+                    if (slot < 0) {
+                        return;
+                    }
+                    Object[] bucket = buckets[slot];
+                    int last = sizes[slot] - 1;
+                    for (int i = last; i >= 0; i--) {
+                        if (bucket[i] == owner) {
+                            bucket[i] = bucket[last];
+                            bucket[last] = null;
+                            sizes[slot] = last;
+                            break;
+                        }
+                    }
+                    if (sizes[slot] == 0) {
+                        int tail = length - slot - 1;
+                        System.arraycopy(keys, slot + 1, keys, slot, tail);
+                        System.arraycopy(buckets, slot + 1, buckets, slot, tail);
+                        System.arraycopy(sizes, slot + 1, sizes, slot, tail);
+                        length--;${releaseKey}
+                        buckets[length] = null;
+                        sizes[length] = 0;
+                    }
+                }
+
+                public static void clear() {
+                    keys = new ${keyType}[16];
+                    buckets = new Object[16][];
+                    sizes = new int[16];
+                    length = 0;
+                }
+
+                static void update(${owner} owner, ${fieldType} oldValue, ${fieldType} newValue) {
+                    if (oldValue != null) {
+                        removeKey(owner, ${oldKey});
+                    }
+                    if (newValue != null) {
+                        add(owner, ${newKey});
+                    }
+                }
+
+                private static void add(${owner} owner, ${keyType} key) {
+                    int slot = Arrays.binarySearch(keys, 0, length, key);
+                    if (slot < 0) {
+                        slot = -slot - 1;
+                        if (length == keys.length) {
+                            keys = Arrays.copyOf(keys, length << 1);
+                            buckets = Arrays.copyOf(buckets, length << 1);
+                            sizes = Arrays.copyOf(sizes, length << 1);
+                        }
+                        int tail = length - slot;
+                        System.arraycopy(keys, slot, keys, slot + 1, tail);
+                        System.arraycopy(buckets, slot, buckets, slot + 1, tail);
+                        System.arraycopy(sizes, slot, sizes, slot + 1, tail);
+                        keys[slot] = key;
+                        buckets[slot] = null;
+                        sizes[slot] = 0;
+                        length++;
+                    }
+                    Object[] bucket = buckets[slot];
+                    int size = sizes[slot];
+                    if (bucket == null) {
+                        bucket = buckets[slot] = new Object[4];
+                    } else if (size == bucket.length) {
+                        bucket = buckets[slot] = Arrays.copyOf(bucket, size << 1);
+                    }
+                    bucket[size] = owner;
+                    sizes[slot] = size + 1;
+                }
+
+                private static void forEachIn(int slot, Consumer<? super ${owner}> action) {
+                    Object[] bucket = buckets[slot];
+                    for (int i = 0, n = sizes[slot]; i < n; i++) {
+                        action.accept((${owner}) bucket[i]);
+                    }
+                }
+
+                private static int find(${keyType} key) {
+                    int slot = Arrays.binarySearch(keys, 0, length, key);
+                    return slot < 0 ? -1 : slot;
+                }
+
+                private static ${keyType} keyOf(${queryType} value) {
+                    ${keyOf}
+                }
+            }
+            """;
+}
@@ -0,0 +1,291 @@
+package br.com.restick.internal.generator;
+
+import br.com.restick.internal.massager.FieldsMessager;
+import br.com.restick.internal.model.FieldCollector;
+import br.com.restick.internal.model.FieldInfo;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Types;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gera a implementação de um {@code @Mapper}: uma classe final com métodos estáticos
+ * que copiam os campos da origem para o destino em código linear, sem reflexão.
+ * <p>
+ * Os campos são casados pelo nome, considerando tanto os declarados quanto os gerados
+ * por {@code @AddFields}, inclusive os herdados das superclasses. A leitura usa o campo
+ * quando acessível a partir do pacote do mapper, ou o getter correspondente. A escrita
+ * usa o setter gerado para campos indexados (mantendo o índice consistente), o campo
+ * quando acessível, ou o setter declarado. Campos esparsos são sempre lidos e escritos
+ * pelo getter/setter gerados.
+ * </p>
+ *
+ * <p>
+ * Campos do destino sem correspondente na origem geram {@code warning}; tipos
+ * incompatíveis, campos inacessíveis ou origem/destino não visíveis a partir do pacote
+ * do mapper geram {@code error} e nada é gerado.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class MapperGenerator {
+
+    /** Sufixo da classe gerada */
+    public static final String SUFFIX = "Impl";
+
+    private final SourceWriter writer;
+
+    private final FieldCollector collector;
+
+    private final Types types;
+
+    private final FieldsMessager messager;
+
+    /**
+     * Gera a classe {@code <Mapper>Impl} no pacote do tipo anotado.
+     *
+     * @param mapper tipo anotado com {@code @Mapper}
+     * @param source tipo de origem
+     * @param target tipo de destino
+     * @return {@code true} se a classe foi gerada
+     */
+    public boolean generate(TypeElement mapper, TypeElement source, TypeElement target) {
+        String pkg = GeneratedNames.packageOf(mapper);
+
+        boolean visible = true;
+        for (TypeElement type : new TypeElement[]{source, target}) {
+            if (!isTypeAccessible(type, pkg)) {
+                messager.error(
+                        mapper,
+                        "@Mapper: %s inacessivel a partir do pacote '%s'. "
+                                + "Torne a classe (e as classes que a envolvem) visivel.",
+                        type.getQualifiedName(), pkg
+                );
+                visible = false;
+            }
+        }
+        if (!visible) {
+            return false;
+        }
+
+        Map<String, FieldInfo> sourceFields = new LinkedHashMap<>();
+        for (FieldInfo field : collector.collect(source)) {
+            sourceFields.put(field.name(), field);
+        }
+
+        boolean valid = true;
+        StringBuilder copies = new StringBuilder();
+
+        for (FieldInfo targetField : collector.collect(target)) {
+
+            if (targetField.modifiers().contains(Modifier.FINAL)) {
+                continue;
+            }
+
+            FieldInfo sourceField = sourceFields.get(targetField.name());
+            if (sourceField == null) {
+                messager.warning(
+                        mapper,
+                        "@Mapper: campo '%s' de %s sem correspondente em %s. O campo nao sera copiado.",
+                        targetField.name(), target.getSimpleName(), source.getSimpleName()
+                );
+                continue;
+            }
+
+            if (!types.isAssignable(sourceField.type(), targetField.type())) {
+                messager.error(
+                        mapper,
+                        "@Mapper: campo '%s' incompativel: %s nao pode ser atribuido a %s.",
+                        targetField.name(), sourceField.type(), targetField.type()
+                );
+                valid = false;
+                continue;
+            }
+
+            String read = read(source, sourceField, pkg);
+            String write = read == null ? null : write(target, targetField, pkg, read);
+            if (write == null) {
+                messager.error(
+                        mapper,
+                        "@Mapper: campo '%s' inacessivel a partir do pacote '%s'. "
+                                + "Torne o campo visivel ou declare getter/setter.",
+                        targetField.name(), pkg
+                );
+                valid = false;
+                continue;
+            }
+
+            copies.append("        ").append(write).append('\n');
+        }
+
+        if (!hasNoArgsConstructor(target, pkg)) {
+            messager.error(mapper, "@Mapper: %s deve possuir construtor vazio acessivel.", target.getSimpleName());
+            valid = false;
+        }
+
+        if (!valid) {
+            return false;
+        }
+
+        String implName = GeneratedNames.ownerName(mapper) + SUFFIX;
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("packageDecl", SourceWriter.packageDecl(pkg));
+        values.put("impl", implName);
+        values.put("mapper", mapper.getQualifiedName().toString());
+        values.put("source", source.getQualifiedName().toString());
+        values.put("target", target.getQualifiedName().toString());
+        values.put("copies", copies.toString().stripTrailing());
+
+        return writer.write(mapper, GeneratedNames.qualified(mapper, implName), SourceWriter.render(TEMPLATE, values));
+    }
+
+    /**
+     * Expressão de leitura do campo na origem, ou {@code null} se inacessível.
+     */
+    private String read(TypeElement owner, FieldInfo field, String pkg) {
+        if (field.sparse()) {
+            return "source." + GeneratedNames.getter(field.name()) + "()";
+        }
+        if (isFieldAccessible(owner, field, pkg)) {
+            return "source." + field.name();
+        }
+        // O getter gerado do campo indexado ainda não aparece nos elementos da classe
+        if (field.indexed()) {
+            return "source." + GeneratedNames.getter(field.name()) + "()";
+        }
+        String capitalized = GeneratedNames.capitalize(field.name());
+        for (String getter : new String[]{"get" + capitalized, "is" + capitalized}) {
+            if (findMethod(owner, getter, 0, pkg)) {
+                return "source." + getter + "()";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Instrução de escrita do campo no destino, ou {@code null} se inacessível.
+     */
+    private String write(TypeElement owner, FieldInfo field, String pkg, String value) {
+        String setter = GeneratedNames.setter(field.name());
+        if (field.indexed() || field.sparse()) {
+            return "target." + setter + "(" + value + ");";
+        }
+        if (isFieldAccessible(owner, field, pkg)) {
+            return "target." + field.name() + " = " + value + ";";
+        }
+        if (findMethod(owner, setter, 1, pkg)) {
+            return "target." + setter + "(" + value + ");";
+        }
+        return null;
+    }
+
+    private boolean hasNoArgsConstructor(TypeElement owner, String pkg) {
+        for (Element enclosed : owner.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) enclosed).getParameters().isEmpty()
+                    && isAccessible(enclosed.getModifiers(), owner, pkg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean findMethod(TypeElement owner, String name, int parameters, String pkg) {
+        for (TypeElement declaring : FieldCollector.hierarchy(owner)) {
+            for (Element enclosed : declaring.getEnclosedElements()) {
+                if (enclosed.getKind() == ElementKind.METHOD
+                        && enclosed.getSimpleName().contentEquals(name)
+                        && !enclosed.getModifiers().contains(Modifier.STATIC)
+                        && ((ExecutableElement) enclosed).getParameters().size() == parameters
+                        && FieldCollector.isInherited(enclosed.getModifiers(), declaring, owner)
+                        && isAccessible(enclosed.getModifiers(), declaring, pkg)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indica se o campo pode ser acessado diretamente ({@code source.campo}): ele precisa ser
+     * membro da classe (campos privados de superclasses não são herdados) e visível do pacote.
+     */
+    private static boolean isFieldAccessible(TypeElement owner, FieldInfo field, String pkg) {
+        return FieldCollector.isInherited(field.modifiers(), field.declaringType(), owner)
+                && isAccessible(field.modifiers(), field.declaringType(), pkg);
+    }
+
+    /**
+     * Indica se a classe pode ser referenciada a partir do pacote: ela e todas as classes
+     * que a envolvem precisam ser públicas, ou não privadas no mesmo pacote.
+     */
+    private static boolean isTypeAccessible(TypeElement type, String pkg) {
+        Element element = type;
+        while (element instanceof TypeElement enclosing) {
+            if (!isAccessible(enclosing.getModifiers(), enclosing, pkg)) {
+                return false;
+            }
+            element = enclosing.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private static boolean isAccessible(Set<Modifier> modifiers, TypeElement owner, String pkg) {
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE) && GeneratedNames.packageOf(owner).equals(pkg);
+    }
+
+    private static final String TEMPLATE = """
+            ${packageDecl}import javax.annotation.processing.Generated;
+
+            /**
+             * Mapper gerado para {@link ${mapper}}: {@link ${source}} -> {@link ${target}}.
+             */
+            @Generated("br.com.restick.internal.processor.MapperProcessor")
+            public final class ${impl} {
+
+                private ${impl}() {
+                }
+
+                public static ${target} map(${source} source) {
+                    if (source == null) {
+                        return null;
+                    }
+                    ${target} target = new ${target}();
+                    mapInto(source, target);
+                    return target;
+                }
+
+                public static void mapInto(${source} source, ${target} target) {
+            ${copies}
+                }
+
+                public static ${target}[] mapAll(${source}[] source) {
+                    ${target}[] target = new ${target}[source.length];
+                    mapAll(source, target);
+                    return target;
+                }
+
+                /**
+                 * Converte {@code source} em lote, gravando em {@code target} (mesmo tamanho ou maior).
+                 */
+                public static void mapAll(${source}[] source, ${target}[] target) {
+                    for (int i = 0; i < source.length; i++) {
+                        target[i] = map(source[i]);
+                    }
+                }
+            }
+            """;
+}
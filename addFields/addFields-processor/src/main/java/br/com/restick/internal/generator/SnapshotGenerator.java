@@ -0,0 +1,314 @@
+package br.com.restick.internal.generator;
+
+import br.com.restick.internal.model.FieldPlan;
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Names;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.TypeElement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Gera o modo {@code snapshot} de {@code @AddFields}: leitura consistente e sem bloqueio
+ * dos campos gerados, usando o protocolo <i>seqlock</i>.
+ * <p>
+ * São injetados na classe:
+ * <ul>
+ *   <li>o contador {@code private volatile long $snapshotSeq} (ímpar durante uma escrita);</li>
+ *   <li>{@code writeSnapshot(...)}: atualiza todos os campos gerados de uma vez. Escritores
+ *       são serializados por {@code synchronized}; leitores nunca bloqueiam;</li>
+ *   <li>{@code writeSnapshot(<Classe>Snapshot)}: o mesmo, recebendo o record;</li>
+ *   <li>{@code readSnapshot()}: lê os campos entre duas leituras do contador e repete enquanto
+ *       houver escrita concorrente, devolvendo o record {@code <Classe>Snapshot}.</li>
+ * </ul>
+ * A ordenação entre o contador e os campos (não voláteis) é garantida por
+ * {@code VarHandle.releaseFence()} no escritor e {@code VarHandle.acquireFence()} no leitor.
+ * Campos esparsos participam do protocolo através do getter/setter gerados; campos
+ * indexados são escritos pelo setter gerado, mantendo o índice atualizado.
+ * </p>
+ *
+ * <p>
+ * Os componentes do record e os parâmetros de {@code writeSnapshot(...)} seguem a ordem do
+ * plano de campos: primeiro os dos conjuntos ({@code sets}), depois os de {@code value}. A
+ * ordem é registrada no javadoc do record gerado.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class SnapshotGenerator {
+
+    /** Sufixo do record gerado */
+    public static final String SUFFIX = "Snapshot";
+
+    /** Nome do contador de sequência */
+    public static final String SEQUENCE_FIELD = "$snapshotSeq";
+
+    private static final String SEQUENCE_LOCAL = "$seq";
+
+    private static final String SNAPSHOT_PARAM = "$snapshot";
+
+    private final TreeMaker maker;
+
+    private final Names names;
+
+    private final AccessorGenerator accessors;
+
+    private final SourceWriter writer;
+
+    /**
+     * Gera o record {@code <Classe>Snapshot} com um componente por campo.
+     *
+     * @return nome simples do record, ou {@code null} em caso de falha
+     */
+    public String generateRecord(TypeElement owner, java.util.List<FieldPlan> plans) {
+        String recordName = GeneratedNames.ownerName(owner) + SUFFIX;
+
+        StringBuilder components = new StringBuilder();
+        for (FieldPlan plan : plans) {
+            if (!components.isEmpty()) {
+                components.append(",\n        ");
+            }
+            components.append(GeneratedNames.typeName(plan.type())).append(' ').append(plan.name());
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("packageDecl", SourceWriter.packageDecl(GeneratedNames.packageOf(owner)));
+        values.put("record", recordName);
+        values.put("owner", owner.getQualifiedName().toString());
+        values.put("components", components.toString());
+        values.put("order", plans.stream().map(FieldPlan::name).collect(Collectors.joining(", ")));
+
+        String source = SourceWriter.render(RECORD_TEMPLATE, values);
+        return writer.write(owner, GeneratedNames.qualified(owner, recordName), source) ? recordName : null;
+    }
+
+    /**
+     * {@code private volatile long $snapshotSeq;}
+     */
+    public JCTree.JCVariableDecl sequenceField() {
+        return maker.VarDef(
+                maker.Modifiers(Flags.PRIVATE | Flags.VOLATILE),
+                names.fromString(SEQUENCE_FIELD),
+                maker.TypeIdent(TypeTag.LONG),
+                null
+        );
+    }
+
+    /**
+     * <pre>{@code
+     * public synchronized void writeSnapshot(String model, Long value) {
+     *     long $seq = this.$snapshotSeq;
+     *     this.$snapshotSeq = $seq + 1L;
+     *     VarHandle.releaseFence();
+     *     this.model = model;
+     *     this.value = value;
+     *     this.$snapshotSeq = $seq + 2L;
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl writer(java.util.List<FieldPlan> plans) {
+        ListBuffer<JCTree.JCVariableDecl> params = new ListBuffer<>();
+        ListBuffer<JCTree.JCStatement> body = new ListBuffer<>();
+
+        body.append(readSequence());
+        body.append(writeSequence(1L));
+        body.append(fence("releaseFence"));
+
+        for (FieldPlan plan : plans) {
+            params.append(maker.VarDef(
+                    maker.Modifiers(Flags.PARAMETER),
+                    names.fromString(plan.name()),
+                    accessors.typeTree(plan.type()),
+                    null
+            ));
+            body.append(maker.Exec(plan.indexed() || plan.sparse()
+                    ? maker.Apply(List.nil(), thisField(GeneratedNames.setter(plan.name())),
+                            List.of(maker.Ident(names.fromString(plan.name()))))
+                    : maker.Assign(thisField(plan.name()), maker.Ident(names.fromString(plan.name())))));
+        }
+
+        body.append(writeSequence(2L));
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC | Flags.SYNCHRONIZED),
+                names.fromString("writeSnapshot"),
+                maker.TypeIdent(TypeTag.VOID),
+                List.nil(),
+                params.toList(),
+                List.nil(),
+                maker.Block(0, body.toList()),
+                null
+        );
+    }
+
+    /**
+     * <pre>{@code
+     * public void writeSnapshot(CarSnapshot $snapshot) {
+     *     String model = $snapshot.model();
+     *     Long value = $snapshot.value();
+     *     this.writeSnapshot(model, value);
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl recordWriter(java.util.List<FieldPlan> plans, String recordName) {
+        // Os componentes são copiados para variáveis locais: chamadas como argumentos teriam a
+        // mesma posição na AST, e o javac reaproveita o tipo do argumento pela posição
+        ListBuffer<JCTree.JCStatement> body = new ListBuffer<>();
+        ListBuffer<JCTree.JCExpression> args = new ListBuffer<>();
+        for (FieldPlan plan : plans) {
+            body.append(maker.VarDef(
+                    maker.Modifiers(0),
+                    names.fromString(plan.name()),
+                    accessors.typeTree(plan.type()),
+                    maker.Apply(List.nil(), maker.Select(maker.Ident(names.fromString(SNAPSHOT_PARAM)),
+                            names.fromString(plan.name())), List.nil())
+            ));
+            args.append(maker.Ident(names.fromString(plan.name())));
+        }
+        body.append(maker.Exec(maker.Apply(List.nil(), thisField("writeSnapshot"), args.toList())));
+
+        JCTree.JCVariableDecl param = maker.VarDef(
+                maker.Modifiers(Flags.PARAMETER),
+                names.fromString(SNAPSHOT_PARAM),
+                maker.Ident(names.fromString(recordName)),
+                null
+        );
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString("writeSnapshot"),
+                maker.TypeIdent(TypeTag.VOID),
+                List.nil(),
+                List.of(param),
+                List.nil(),
+                maker.Block(0, body.toList()),
+                null
+        );
+    }
+
+    /**
+     * <pre>{@code
+     * public CarSnapshot readSnapshot() {
+     *     while (true) {
+     *         long $seq = this.$snapshotSeq;
+     *         if (($seq & 1L) == 0L) {
+     *             String model = this.model;
+     *             Long value = this.value;
+     *             VarHandle.acquireFence();
+     *             if ($seq == this.$snapshotSeq) {
+     *                 return new CarSnapshot(model, value);
+     *             }
+     *         }
+     *         Thread.onSpinWait();
+     *     }
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl reader(java.util.List<FieldPlan> plans, String recordName) {
+        ListBuffer<JCTree.JCStatement> copy = new ListBuffer<>();
+        ListBuffer<JCTree.JCExpression> args = new ListBuffer<>();
+
+        for (FieldPlan plan : plans) {
+            copy.append(maker.VarDef(
+                    maker.Modifiers(0),
+                    names.fromString(plan.name()),
+                    accessors.typeTree(plan.type()),
+                    plan.sparse()
+                            ? maker.Apply(List.nil(), thisField(GeneratedNames.getter(plan.name())), List.nil())
+                            : thisField(plan.name())
+            ));
+            args.append(maker.Ident(names.fromString(plan.name())));
+        }
+
+        copy.append(fence("acquireFence"));
+        copy.append(maker.If(
+                maker.Binary(JCTree.Tag.EQ, local(), thisField(SEQUENCE_FIELD)),
+                maker.Return(maker.NewClass(null, List.nil(), maker.Ident(names.fromString(recordName)), args.toList(), null)),
+                null
+        ));
+
+        JCTree.JCExpression even = maker.Binary(
+                JCTree.Tag.EQ,
+                maker.Parens(maker.Binary(JCTree.Tag.BITAND, local(), maker.Literal(1L))),
+                maker.Literal(0L)
+        );
+
+        JCTree.JCStatement attempt = maker.Block(0, List.of(
+                readSequence(),
+                maker.If(even, maker.Block(0, copy.toList()), null),
+                maker.Exec(maker.Apply(List.nil(), maker.Select(accessors.typeTree("java.lang.Thread"), names.fromString("onSpinWait")), List.nil()))
+        ));
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString("readSnapshot"),
+                maker.Ident(names.fromString(recordName)),
+                List.nil(),
+                List.nil(),
+                List.nil(),
+                maker.Block(0, List.of(maker.WhileLoop(maker.Literal(true), attempt))),
+                null
+        );
+    }
+
+    /** {@code long $seq = this.$snapshotSeq;} */
+    private JCTree.JCStatement readSequence() {
+        return maker.VarDef(
+                maker.Modifiers(0),
+                names.fromString(SEQUENCE_LOCAL),
+                maker.TypeIdent(TypeTag.LONG),
+                thisField(SEQUENCE_FIELD)
+        );
+    }
+
+    /** {@code this.$snapshotSeq = $seq + delta;} */
+    private JCTree.JCStatement writeSequence(long delta) {
+        return maker.Exec(maker.Assign(
+                thisField(SEQUENCE_FIELD),
+                maker.Binary(JCTree.Tag.PLUS, local(), maker.Literal(delta))
+        ));
+    }
+
+    /** {@code java.lang.invoke.VarHandle.<fence>();} */
+    private JCTree.JCStatement fence(String fence) {
+        return maker.Exec(maker.Apply(
+                List.nil(),
+                maker.Select(accessors.typeTree("java.lang.invoke.VarHandle"), names.fromString(fence)),
+                List.nil()
+        ));
+    }
+
+    private JCTree.JCExpression local() {
+        return maker.Ident(names.fromString(SEQUENCE_LOCAL));
+    }
+
+    private JCTree.JCExpression thisField(String fieldName) {
+        return maker.Select(maker.Ident(names._this), names.fromString(fieldName));
+    }
+
+    private static final String RECORD_TEMPLATE = """
+            ${packageDecl}import javax.annotation.processing.Generated;
+
+            /**
+             * Cópia consistente dos campos gerados de {@link ${owner}}, obtida por {@code readSnapshot()}.
+             * <p>
+             * Componentes na ordem do plano de campos (conjuntos primeiro, depois os campos
+             * próprios), a mesma dos parâmetros de {@code writeSnapshot(...)}:
+             * ${order}.
+             * </p>
+             */
+            @Generated("br.com.restick.internal.processor.AddFieldsProcessor")
+            public record ${record}(
+                    ${components}) {
+            }
+            """;
+}
@@ -0,0 +1,405 @@
+package br.com.restick.internal.generator;
+
+import br.com.restick.internal.model.FieldPlan;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gera o modo {@code store} de {@code @AddFields}: a classe companheira {@code <Classe>Store},
+ * um arquivo de registros de tamanho fixo, somente de inclusão, mapeado em memória.
+ * <p>
+ * O layout do registro é derivado dos campos gerados, na ordem de definição: tipos
+ * primitivos ocupam o próprio tamanho; wrappers e {@code java.time.Instant} recebem um
+ * byte de presença antes do valor; {@code String} ocupa 2 bytes de tamanho mais
+ * {@code FieldDef#length()} bytes UTF-8. O cabeçalho do arquivo guarda um número mágico,
+ * o hash do layout (calculado em tempo de compilação), o tamanho do registro e a
+ * quantidade de registros.
+ * </p>
+ *
+ * <p>
+ * Ao reabrir o arquivo nada é desserializado: o arquivo é mapeado
+ * ({@code FileChannel.map} em um {@code MemorySegment}) e cada registro é lido sob
+ * demanda pelo índice. Um hash de layout diferente impede a abertura.
+ * </p>
+ *
+ * <p>
+ * Registros materializados recebem os valores por atribuição direta aos campos, sem passar
+ * pelos setters de índice: ler o arquivo não insere as instâncias nos índices estáticos.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class StoreGenerator {
+
+    /** Sufixo da classe companheira */
+    public static final String SUFFIX = "Store";
+
+    /** Maior tamanho aceito para campos {@code String} (o tamanho é gravado em um {@code short}) */
+    public static final int MAX_STRING_LENGTH = Short.MAX_VALUE;
+
+    /** Valor padrão de {@code FieldDef#length()} */
+    public static final int DEFAULT_STRING_LENGTH = 32;
+
+    /** Layout e tamanho de cada tipo primitivo suportado, também usados pelos wrappers */
+    private static final Map<String, Slot> PRIMITIVES = Map.of(
+            "boolean", new Slot("JAVA_BOOLEAN", 1),
+            "byte", new Slot("JAVA_BYTE", 1),
+            "short", new Slot("JAVA_SHORT_UNALIGNED", 2),
+            "char", new Slot("JAVA_CHAR_UNALIGNED", 2),
+            "int", new Slot("JAVA_INT_UNALIGNED", 4),
+            "float", new Slot("JAVA_FLOAT_UNALIGNED", 4),
+            "long", new Slot("JAVA_LONG_UNALIGNED", 8),
+            "double", new Slot("JAVA_DOUBLE_UNALIGNED", 8)
+    );
+
+    private static final Map<String, String> WRAPPERS = Map.of(
+            "java.lang.Boolean", "boolean",
+            "java.lang.Byte", "byte",
+            "java.lang.Short", "short",
+            "java.lang.Character", "char",
+            "java.lang.Integer", "int",
+            "java.lang.Float", "float",
+            "java.lang.Long", "long",
+            "java.lang.Double", "double"
+    );
+
+    private static final String STRING = "java.lang.String";
+
+    private static final String INSTANT = "java.time.Instant";
+
+    private final SourceWriter writer;
+
+    /**
+     * Indica se o tipo pode ser gravado no registro de tamanho fixo.
+     */
+    public static boolean supports(TypeMirror fieldType) {
+        String name = GeneratedNames.typeName(fieldType);
+        return PRIMITIVES.containsKey(name) || WRAPPERS.containsKey(name) || STRING.equals(name) || INSTANT.equals(name);
+    }
+
+    /**
+     * Indica se o campo é um {@code String}, o único tipo cujo tamanho vem de {@code FieldDef#length()}.
+     */
+    public static boolean isString(TypeMirror fieldType) {
+        return STRING.equals(GeneratedNames.typeName(fieldType));
+    }
+
+    /**
+     * Gera a classe {@code <Classe>Store} para os campos informados.
+     *
+     * @param owner classe anotada
+     * @param plans campos persistidos, já validados por {@code FieldsValidator#isStorable}
+     * @return nome simples da classe gerada, ou {@code null} em caso de falha
+     */
+    public String generate(TypeElement owner, java.util.List<FieldPlan> plans) {
+        String storeName = GeneratedNames.ownerName(owner) + SUFFIX;
+
+        StringBuilder write = new StringBuilder();
+        StringBuilder read = new StringBuilder();
+        StringBuilder accessors = new StringBuilder();
+        StringBuilder layout = new StringBuilder();
+        int offset = 0;
+
+        for (FieldPlan plan : plans) {
+            String type = GeneratedNames.typeName(plan.type());
+            String source = plan.sparse() ? "source." + GeneratedNames.getter(plan.name()) + "()" : "source." + plan.name();
+            String at = "base + " + offset;
+            String value;
+            int size;
+
+            if (PRIMITIVES.containsKey(type)) {
+                Slot slot = PRIMITIVES.get(type);
+                write.append("        segment.set(ValueLayout.%s, %s, %s);\n".formatted(slot.layout(), at, source));
+                value = "segment.get(ValueLayout.%s, %s)".formatted(slot.layout(), at);
+                size = slot.size();
+            } else if (WRAPPERS.containsKey(type)) {
+                Slot slot = PRIMITIVES.get(WRAPPERS.get(type));
+                String local = "$" + plan.name();
+                write.append("        %s %s = %s;\n".formatted(type, local, source))
+                        .append("        segment.set(ValueLayout.JAVA_BYTE, %s, (byte) (%s == null ? 0 : 1));\n".formatted(at, local))
+                        .append("        if (%s != null) {\n".formatted(local))
+                        .append("            segment.set(ValueLayout.%s, %s + 1, %s);\n".formatted(slot.layout(), at, local))
+                        .append("        }\n");
+                value = "segment.get(ValueLayout.JAVA_BYTE, %s) == 0 ? null : (%s) segment.get(ValueLayout.%s, %s + 1)"
+                        .formatted(at, type, slot.layout(), at);
+                size = 1 + slot.size();
+            } else if (STRING.equals(type)) {
+                write.append("        putString(%s, %s, %d);\n".formatted(at, source, plan.length()));
+                value = "getString(%s)".formatted(at);
+                size = 2 + plan.length();
+            } else {
+                write.append("        putInstant(%s, %s);\n".formatted(at, source));
+                value = "getInstant(%s)".formatted(at);
+                size = 13;
+            }
+
+            // Campos esparsos só são acessíveis pelo setter (não indexados, ver isStorable)
+            read.append(plan.sparse()
+                    ? "        target.%s(%s);\n".formatted(GeneratedNames.setter(plan.name()), value)
+                    : "        target.%s = %s;\n".formatted(plan.name(), value));
+
+            accessors.append("""
+
+                        /**
+                         * Lê apenas o campo {@code %s} do registro, direto do arquivo mapeado.
+                         */
+                        public %s %s(long index) {
+                            long base = offset(index);
+                            return %s;
+                        }
+                    """.formatted(plan.name(), type, reader(plan.name()), value));
+
+            layout.append(plan.name()).append(':').append(type).append(':').append(size).append(';');
+            offset += size;
+        }
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("packageDecl", SourceWriter.packageDecl(GeneratedNames.packageOf(owner)));
+        values.put("store", storeName);
+        values.put("owner", owner.getQualifiedName().toString());
+        values.put("layout", layout.toString());
+        values.put("layoutHash", "0x" + Long.toHexString(fnv1a(layout.toString())) + "L");
+        values.put("recordSize", Integer.toString(Math.max(offset, 1)));
+        values.put("write", write.toString().stripTrailing());
+        values.put("read", read.toString().stripTrailing());
+        values.put("accessors", accessors.toString().stripTrailing());
+
+        String source = SourceWriter.render(TEMPLATE, values);
+        return writer.write(owner, GeneratedNames.qualified(owner, storeName), source) ? storeName : null;
+    }
+
+    /**
+     * Nome do leitor de um único campo (ex: {@code value} -> {@code readValue}). O prefixo
+     * evita conflito com os métodos fixos do store ({@code get}, {@code offset}, {@code size}...).
+     */
+    public static String reader(String fieldName) {
+        return "read" + GeneratedNames.capitalize(fieldName);
+    }
+
+    /** Hash FNV-1a de 64 bits da descrição textual do layout */
+    private static long fnv1a(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Layout de memória ({@code ValueLayout.<layout>}) e tamanho em bytes de um tipo primitivo.
+     */
+    private record Slot(String layout, int size) {
+    }
+
+    private static final String TEMPLATE = """
+            ${packageDecl}import java.io.IOException;
+            import java.lang.foreign.Arena;
+            import java.lang.foreign.MemorySegment;
+            import java.lang.foreign.ValueLayout;
+            import java.nio.channels.FileChannel;
+            import java.nio.charset.StandardCharsets;
+            import java.nio.file.Path;
+            import java.nio.file.StandardOpenOption;
+            import java.util.function.Consumer;
+            import javax.annotation.processing.Generated;
+
+            /**
+             * Arquivo de registros de {@link ${owner}}, somente de inclusão e mapeado em memória.
+             * <p>
+             * Layout ({@code nome:tipo:bytes}): {@code ${layout}}
+             * </p>
+             * <p>
+             * Leituras por índice não desserializam o arquivo: cada acesso lê apenas os bytes do
+             * registro (ou do campo) pedido. Instâncias materializadas não são incluídas nos
+             * índices secundários. Escritas não são thread-safe.
+             * </p>
+             */
+            @Generated("br.com.restick.internal.processor.AddFieldsProcessor")
+            public final class ${store} implements AutoCloseable {
+
+                /** Hash do layout do registro, gravado no cabeçalho e conferido na abertura */
+                public static final long LAYOUT_HASH = ${layoutHash};
+
+                /** Tamanho de cada registro em bytes */
+                public static final int RECORD_SIZE = ${recordSize};
+
+                private static final long MAGIC = 0x5245535449434B31L;
+                private static final long HEADER_SIZE = 64;
+                private static final long COUNT_OFFSET = 24;
+                private static final long INITIAL_CAPACITY = 1024;
+
+                private final FileChannel channel;
+                private final Arena arena;
+                private MemorySegment segment;
+                private long count;
+
+                private ${store}(FileChannel channel, Arena arena, MemorySegment segment, long count) {
+                    this.channel = channel;
+                    this.arena = arena;
+                    this.segment = segment;
+                    this.count = count;
+                }
+
+                /**
+                 * Abre (ou cria) o arquivo, conferindo o cabeçalho. Os registros existentes não são lidos.
+                 *
+                 * @throws IOException se o arquivo não for deste layout ou estiver truncado
+                 */
+                public static ${store} open(Path path) throws IOException {
+                    FileChannel channel = FileChannel.open(path,
+                            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    Arena arena = Arena.ofShared();
+                    try {
+                        long size = channel.size();
+                        if (size == 0) {
+                            MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                    HEADER_SIZE + INITIAL_CAPACITY * RECORD_SIZE, arena);
+                            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, 0, MAGIC);
+                            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, 8, LAYOUT_HASH);
+                            segment.set(ValueLayout.JAVA_INT_UNALIGNED, 16, RECORD_SIZE);
+                            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, COUNT_OFFSET, 0L);
+                            return new ${store}(channel, arena, segment, 0);
+                        }
+                        if (size < HEADER_SIZE) {
+                            throw new IOException("Arquivo truncado: " + path);
+                        }
+                        MemorySegment segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                        if (segment.get(ValueLayout.JAVA_LONG_UNALIGNED, 0) != MAGIC
+                                || segment.get(ValueLayout.JAVA_LONG_UNALIGNED, 8) != LAYOUT_HASH
+                                || segment.get(ValueLayout.JAVA_INT_UNALIGNED, 16) != RECORD_SIZE) {
+                            throw new IOException("Layout incompativel com ${owner}: " + path);
+                        }
+                        long count = segment.get(ValueLayout.JAVA_LONG_UNALIGNED, COUNT_OFFSET);
+                        if (HEADER_SIZE + count * RECORD_SIZE > size) {
+                            throw new IOException("Arquivo truncado: " + path);
+                        }
+                        return new ${store}(channel, arena, segment, count);
+                    } catch (IOException | RuntimeException e) {
+                        arena.close();
+                        channel.close();
+                        throw e;
+                    }
+                }
+
+                /** Quantidade de registros gravados */
+                public long size() {
+                    return count;
+                }
+
+                /**
+                 * Grava a instância no fim do arquivo.
+                 *
+                 * @return índice do registro gravado
+                 */
+                public long append(${owner} source) throws IOException {
+                    long index = count;
+                    ensureCapacity(index + 1);
+                    long base = HEADER_SIZE + index * RECORD_SIZE;
+            ${write}
+                    count = index + 1;
+                    segment.set(ValueLayout.JAVA_LONG_UNALIGNED, COUNT_OFFSET, count);
+                    return index;
+                }
+
+                /** Materializa o registro em uma nova instância */
+                public ${owner} get(long index) {
+                    ${owner} target = new ${owner}();
+                    read(index, target);
+                    return target;
+                }
+
+                /** Copia o registro para a instância informada, sem atualizar índices */
+                public void read(long index, ${owner} target) {
+                    long base = offset(index);
+            ${read}
+                }
+
+                /** Percorre os registros em ordem, materializando um por vez */
+                public void forEach(Consumer<? super ${owner}> action) {
+                    for (long i = 0; i < count; i++) {
+                        action.accept(get(i));
+                    }
+                }
+            ${accessors}
+
+                /** Grava no disco as alterações pendentes do mapeamento */
+                public void flush() {
+                    segment.force();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        flush();
+                    } finally {
+                        arena.close();
+                        channel.close();
+                    }
+                }
+
+                private long offset(long index) {
+                    if (index < 0 || index >= count) {
+                        throw new IndexOutOfBoundsException("Registro " + index + " fora de [0, " + count + ")");
+                    }
+                    return HEADER_SIZE + index * RECORD_SIZE;
+                }
+
+                // Mapeamentos anteriores continuam válidos até o fechamento da Arena
+                private void ensureCapacity(long records) throws IOException {
+                    long required = HEADER_SIZE + records * RECORD_SIZE;
+                    if (required <= segment.byteSize()) {
+                        return;
+                    }
+                    long capacity = Math.max(required, HEADER_SIZE + ((segment.byteSize() - HEADER_SIZE) / RECORD_SIZE) * 2 * RECORD_SIZE);
+                    segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity, arena);
+                }
+
+                private void putString(long offset, String value, int length) {
+                    if (value == null) {
+                        segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, offset, (short) -1);
+                        return;
+                    }
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    if (bytes.length > length) {
+                        throw new IllegalArgumentException("Texto com " + bytes.length + " bytes excede o limite de " + length);
+                    }
+                    segment.set(ValueLayout.JAVA_SHORT_UNALIGNED, offset, (short) bytes.length);
+                    MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, offset + 2, bytes.length);
+                }
+
+                private String getString(long offset) {
+                    short length = segment.get(ValueLayout.JAVA_SHORT_UNALIGNED, offset);
+                    if (length < 0) {
+                        return null;
+                    }
+                    byte[] bytes = new byte[length];
+                    MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, offset + 2, bytes, 0, length);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                private void putInstant(long offset, java.time.Instant value) {
+                    segment.set(ValueLayout.JAVA_BYTE, offset, (byte) (value == null ? 0 : 1));
+                    if (value != null) {
+                        segment.set(ValueLayout.JAVA_LONG_UNALIGNED, offset + 1, value.getEpochSecond());
+                        segment.set(ValueLayout.JAVA_INT_UNALIGNED, offset + 9, value.getNano());
+                    }
+                }
+
+                private java.time.Instant getInstant(long offset) {
+                    if (segment.get(ValueLayout.JAVA_BYTE, offset) == 0) {
+                        return null;
+                    }
+                    return java.time.Instant.ofEpochSecond(
+                            segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset + 1),
+                            segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset + 9));
+                }
+            }
+            """;
+}
@@ -0,0 +1,136 @@
+package br.com.restick.internal.model;
+
+import br.com.restick.api.annotation.AddFields;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reúne os campos de instância de uma classe: os declarados no código-fonte e os
+ * que serão gerados por {@link AddFields}.
+ * <p>
+ * Os campos gerados são injetados diretamente na AST e, por isso, não aparecem em
+ * {@link TypeElement#getEnclosedElements()} durante a mesma rodada. Esta classe lê
+ * as definições da própria anotação (incluindo os conjuntos referenciados) para enxergá-los.
+ * Contadores e coleções de primitivos não são campos de valor e ficam de fora.
+ * </p>
+ *
+ * <p>
+ * Os campos das superclasses (declarados ou gerados) também são reunidos, com a classe
+ * que os declara, e um campo da subclasse esconde o homônimo da superclasse. Campos que
+ * não são herdados (ex: privados) entram na lista para que possam ser acessados pelos
+ * getters/setters herdados; veja {@link #isInherited}.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class FieldCollector {
+
+    private final FieldPlanner planner;
+
+    /**
+     * Lista os campos de instância da classe, na ordem de declaração, seguidos dos gerados
+     * e, depois, dos herdados de cada superclasse.
+     */
+    public List<FieldInfo> collect(TypeElement type) {
+        Map<String, FieldInfo> fields = new LinkedHashMap<>();
+
+        for (TypeElement current : hierarchy(type)) {
+
+            for (Element enclosed : current.getEnclosedElements()) {
+                if (enclosed.getKind() == ElementKind.FIELD
+                        && !enclosed.getModifiers().contains(Modifier.STATIC)) {
+
+                    String name = enclosed.getSimpleName().toString();
+                    fields.putIfAbsent(name, new FieldInfo(
+                            name, enclosed.asType(), enclosed.getModifiers(), false, false, false, current
+                    ));
+                }
+            }
+
+            AddFields annotation = current.getAnnotation(AddFields.class);
+            if (annotation == null) {
+                continue;
+            }
+            for (FieldPlan plan : planner.plan(current, annotation)) {
+                Set<Modifier> modifiers = toModifiers(plan.modifier());
+                if (modifiers.contains(Modifier.STATIC) || plan.counter() || plan.collection()) {
+                    continue;
+                }
+                fields.putIfAbsent(plan.name(), new FieldInfo(
+                        plan.name(), plan.type(), modifiers, true, plan.indexed(), plan.sparse(), current
+                ));
+            }
+        }
+
+        return new ArrayList<>(fields.values());
+    }
+
+    /**
+     * A classe seguida das suas superclasses, da mais específica para a mais geral, sem
+     * {@code java.lang.Object}.
+     */
+    public static List<TypeElement> hierarchy(TypeElement type) {
+        List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            hierarchy.add(current);
+            current = current.getSuperclass().getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) current.getSuperclass()).asElement()
+                    : null;
+        }
+        return hierarchy;
+    }
+
+    /**
+     * Indica se um membro declarado em {@code declaring} com os modificadores informados
+     * é herdado por {@code type} (sempre verdadeiro quando são a mesma classe).
+     */
+    public static boolean isInherited(Set<Modifier> modifiers, TypeElement declaring, TypeElement type) {
+        if (declaring.equals(type)) {
+            return true;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC)
+                || modifiers.contains(Modifier.PROTECTED)
+                || packageOf(declaring).equals(packageOf(type));
+    }
+
+    private static Element packageOf(Element element) {
+        while (element != null && !(element instanceof PackageElement)) {
+            element = element.getEnclosingElement();
+        }
+        return element;
+    }
+
+    /**
+     * Converte o valor {@code long} de modificadores usado em {@code FieldDef#modifier()}.
+     */
+    public static Set<Modifier> toModifiers(long flags) {
+        Set<Modifier> modifiers = EnumSet.noneOf(Modifier.class);
+        if ((flags & 1L) != 0) modifiers.add(Modifier.PUBLIC);
+        if ((flags & 2L) != 0) modifiers.add(Modifier.PRIVATE);
+        if ((flags & 4L) != 0) modifiers.add(Modifier.PROTECTED);
+        if ((flags & 8L) != 0) modifiers.add(Modifier.STATIC);
+        if ((flags & 16L) != 0) modifiers.add(Modifier.FINAL);
+        if ((flags & 64L) != 0) modifiers.add(Modifier.VOLATILE);
+        if ((flags & 128L) != 0) modifiers.add(Modifier.TRANSIENT);
+        return modifiers;
+    }
+}
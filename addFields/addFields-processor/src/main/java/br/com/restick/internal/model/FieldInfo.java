@@ -0,0 +1,26 @@
+package br.com.restick.internal.model;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.Set;
+
+/**
+ * Visão de um campo de instância de uma classe, seja ele declarado no código-fonte
+ * ou gerado a partir de um {@code FieldDef}.
+ *
+ * @param name nome do campo
+ * @param type tipo do campo
+ * @param modifiers modificadores do campo
+ * @param generated {@code true} se o campo é gerado por {@code @AddFields}
+ * @param indexed {@code true} se o campo possui índice (e, portanto, setter gerado)
+ * @param sparse {@code true} se o campo é esparso (acessível apenas pelo getter/setter gerados)
+ * @param declaringType classe que declara o campo (a própria classe ou uma superclasse)
+ *
+ * @author William
+ * @since 1.0
+ */
+public record FieldInfo(String name, TypeMirror type, Set<Modifier> modifiers,
+                        boolean generated, boolean indexed, boolean sparse,
+                        TypeElement declaringType) {
+}
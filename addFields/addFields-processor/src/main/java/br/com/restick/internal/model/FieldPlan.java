@@ -0,0 +1,31 @@
+package br.com.restick.internal.model;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Definição de campo já resolvida, pronta para ser aplicada a qualquer classe.
+ * <p>
+ * Equivale a um {@code FieldDef} cujo tipo já foi extraído do
+ * {@link javax.lang.model.type.MirroredTypeException}, evitando repetir a
+ * resolução para cada classe que usa o mesmo conjunto de campos.
+ * </p>
+ *
+ * @param name nome do campo
+ * @param type tipo do campo
+ * @param typeElement elemento do tipo do campo, ou {@code null} para primitivos e arrays
+ * @param modifier modificadores no formato {@code long} do TreeMaker
+ * @param indexed se o campo possui índice secundário
+ * @param sorted se o índice é ordenado
+ * @param sparse se o campo é armazenado no array de extensão esparso
+ * @param counter se o campo é um contador distribuído em células
+ * @param collection se o campo é uma lista de primitivos embutida na classe
+ * @param length tamanho máximo, em bytes, de campos {@code String} gravados pelo store
+ *
+ * @author William
+ * @since 1.0
+ */
+public record FieldPlan(String name, TypeMirror type, TypeElement typeElement, long modifier,
+                        boolean indexed, boolean sorted, boolean sparse, boolean counter,
+                        boolean collection, int length) {
+}
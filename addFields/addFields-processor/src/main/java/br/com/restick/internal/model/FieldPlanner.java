@@ -0,0 +1,211 @@
+package br.com.restick.internal.model;
+
+import br.com.restick.api.annotation.AddFields;
+import br.com.restick.api.annotation.FieldDef;
+import br.com.restick.api.annotation.FieldSet;
+import br.com.restick.internal.massager.FieldsMessager;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.MirroredTypesException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Resolve as definições de {@link AddFields} em uma lista de {@link FieldPlan}.
+ * <p>
+ * Cada {@link FieldSet} referenciado por {@link AddFields#sets()} é resolvido uma única
+ * vez por rodada e o plano resultante é reutilizado por todas as classes que o
+ * referenciam. O cache é descartado a cada rodada ({@link #newRound}): os
+ * {@link TypeMirror}s guardados nos planos pertencem à rodada em que foram obtidos.
+ * </p>
+ *
+ * <p>
+ * Os processors da mesma compilação ({@code AddFieldsProcessor} e {@code MapperProcessor})
+ * obtêm a mesma instância por {@link #of}, de modo que cada conjunto é resolvido uma
+ * única vez por rodada para todos eles.
+ * </p>
+ *
+ * <p>
+ * O cache guarda {@link FieldPlan}s (nomes, modificadores e {@link TypeMirror}s), e não
+ * árvores prontas: cada classe recebe nós {@code JCTree} novos, criados na injeção. O javac
+ * atribui as árvores no próprio nó (tipo e símbolo ficam gravados nele), então um mesmo
+ * {@code JCTree} compartilhado entre classes ou rodadas seria atribuído mais de uma vez e
+ * corromperia a compilação. Pelo mesmo motivo o cache vale por rodada, e não por compilação.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class FieldPlanner {
+
+    /**
+     * Planners por compilação, indexados pelo {@link Types} do javac (único por compilação).
+     * As referências são fracas para não reter compilações encerradas em JVMs de longa
+     * duração, como o {@code CompileServer}.
+     */
+    private static final Map<Types, WeakReference<FieldPlanner>> SHARED = new WeakHashMap<>();
+
+    private final Types types;
+
+    private final FieldsMessager messager;
+
+    /** Planos já resolvidos, indexados pelo nome qualificado do portador do {@link FieldSet} */
+    private final Map<String, List<FieldPlan>> sets = new HashMap<>();
+
+    /** Rodada à qual pertencem os planos em cache */
+    private RoundEnvironment round;
+
+    /**
+     * Planner compartilhado da compilação à qual pertence o {@link Types} informado,
+     * criado na primeira chamada.
+     */
+    public static synchronized FieldPlanner of(Types types, FieldsMessager messager) {
+        WeakReference<FieldPlanner> reference = SHARED.get(types);
+        FieldPlanner planner = reference == null ? null : reference.get();
+        if (planner == null) {
+            planner = new FieldPlanner(types, messager);
+            SHARED.put(types, new WeakReference<>(planner));
+        }
+        return planner;
+    }
+
+    /**
+     * Descarta os planos em cache se a rodada informada for diferente da atual. Deve ser
+     * chamado no início de cada rodada, antes de {@link #plan} e {@link #isResolvable};
+     * chamadas de outros processors na mesma rodada não descartam nada.
+     */
+    public void newRound(RoundEnvironment round) {
+        if (this.round != round) {
+            this.round = round;
+            sets.clear();
+        }
+    }
+
+    /**
+     * Monta o plano de campos da classe: primeiro os conjuntos, depois os campos próprios.
+     * Nomes repetidos são ignorados com {@code warning}, prevalecendo a primeira definição.
+     */
+    public List<FieldPlan> plan(TypeElement type, AddFields annotation) {
+        Map<String, FieldPlan> plans = new LinkedHashMap<>();
+
+        for (TypeMirror holder : setsOf(annotation)) {
+            for (FieldPlan plan : resolveSet(type, (TypeElement) types.asElement(holder))) {
+                put(type, plans, plan);
+            }
+        }
+
+        for (FieldDef fieldDef : annotation.value()) {
+            put(type, plans, resolve(fieldDef));
+        }
+
+        return new ArrayList<>(plans.values());
+    }
+
+    /**
+     * Indica se todos os tipos referenciados pela anotação já existem nesta rodada: os
+     * portadores de {@link FieldSet}, os tipos dos campos dos conjuntos e os dos campos
+     * próprios. Tipos gerados por outro processor só existem em rodadas seguintes.
+     */
+    public boolean isResolvable(AddFields annotation) {
+        for (TypeMirror holder : setsOf(annotation)) {
+            if (holder.getKind() == TypeKind.ERROR) {
+                return false;
+            }
+            FieldSet fieldSet = types.asElement(holder).getAnnotation(FieldSet.class);
+            if (fieldSet != null && !isResolvable(fieldSet.value())) {
+                return false;
+            }
+        }
+        return isResolvable(annotation.value());
+    }
+
+    private boolean isResolvable(FieldDef[] fieldDefs) {
+        for (FieldDef fieldDef : fieldDefs) {
+            if (!TypeRegistry.isResolved(typeOf(fieldDef))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<FieldPlan> resolveSet(TypeElement type, TypeElement holder) {
+        String key = holder.getQualifiedName().toString();
+
+        List<FieldPlan> cached = sets.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        FieldSet fieldSet = holder.getAnnotation(FieldSet.class);
+        if (fieldSet == null) {
+            messager.error(type, "@AddFields: %s nao e um @FieldSet.", holder.getSimpleName());
+            return List.of();
+        }
+
+        List<FieldPlan> resolved = new ArrayList<>();
+        for (FieldDef fieldDef : fieldSet.value()) {
+            resolved.add(resolve(fieldDef));
+        }
+
+        List<FieldPlan> plan = List.copyOf(resolved);
+        sets.put(key, plan);
+        return plan;
+    }
+
+    private void put(TypeElement type, Map<String, FieldPlan> plans, FieldPlan plan) {
+        if (plans.putIfAbsent(plan.name(), plan) != null) {
+            messager.warning(
+                    type,
+                    "@AddFields: campo '%s' definido mais de uma vez. Apenas a primeira definicao sera usada.",
+                    plan.name()
+            );
+        }
+    }
+
+    private FieldPlan resolve(FieldDef fieldDef) {
+        TypeMirror typeMirror = typeOf(fieldDef);
+
+        return new FieldPlan(
+                fieldDef.name(),
+                typeMirror,
+                (TypeElement) types.asElement(typeMirror),
+                fieldDef.modifier(),
+                fieldDef.indexed(),
+                fieldDef.sorted(),
+                fieldDef.sparse(),
+                fieldDef.counter(),
+                fieldDef.collection(),
+                fieldDef.length()
+        );
+    }
+
+    private static TypeMirror typeOf(FieldDef fieldDef) {
+        try {
+            fieldDef.type();
+            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
+        } catch (MirroredTypeException e) {
+            return e.getTypeMirror();
+        }
+    }
+
+    private static List<? extends TypeMirror> setsOf(AddFields annotation) {
+        try {
+            annotation.sets();
+            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
+        } catch (MirroredTypesException e) {
+            return e.getTypeMirrors();
+        }
+    }
+}
@@ -2,7 +2,17 @@ package br.com.restick.internal.processor;
 
 import br.com.restick.api.annotation.AddFields;
 import br.com.restick.api.annotation.FieldDef;
+import br.com.restick.internal.generator.AccessorGenerator;
+import br.com.restick.internal.generator.CollectionGenerator;
+import br.com.restick.internal.generator.CounterGenerator;
+import br.com.restick.internal.generator.IndexGenerator;
+import br.com.restick.internal.generator.SnapshotGenerator;
+import br.com.restick.internal.generator.SourceWriter;
+import br.com.restick.internal.generator.StoreGenerator;
 import br.com.restick.internal.massager.FieldsMessager;
+import br.com.restick.internal.model.FieldPlan;
+import br.com.restick.internal.model.FieldPlanner;
+import br.com.restick.internal.model.TypeRegistry;
 import br.com.restick.internal.validator.FieldsValidator;
 import com.google.auto.service.AutoService;
 import com.sun.tools.javac.api.JavacTrees;
@@ -22,8 +32,10 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.MirroredTypeException;
-import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeKind;
 import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import static br.com.restick.internal.processor.unwrapper.UnwrapperIntelliJ.unwrapIntelliJ;
@@ -40,8 +52,18 @@ import static br.com.restick.internal.processor.unwrapper.UnwrapperIntelliJ.unwr
  * <ul>
  *   <li>Opera diretamente sobre a AST usando APIs internas do Javac</li>
  *   <li>Suporta múltiplos campos por classe</li>
+ *   <li>Reutiliza conjuntos de campos ({@link br.com.restick.api.annotation.FieldSet}) resolvidos
+ *       uma única vez por rodada</li>
  *   <li>Evita acesso direto a {@code Class<?>} usando {@link MirroredTypeException}</li>
  *   <li>Garante compatibilidade com IntelliJ via unwrap do ProcessingEnvironment</li>
+ *   <li>Gera índice secundário, setter e getter para campos com {@code indexed = true}</li>
+ *   <li>Gera leitura consistente via seqlock com {@code snapshot = true}</li>
+ *   <li>Armazena campos com {@code sparse = true} em um array de extensão alocado sob demanda</li>
+ *   <li>Gera contadores distribuídos em células para campos com {@code counter = true}</li>
+ *   <li>Gera listas de primitivos embutidas na classe para campos com {@code collection = true}</li>
+ *   <li>Gera o arquivo de registros mapeado em memória {@code <Classe>Store} com {@code store = true}</li>
+ *   <li>Modifica cada classe uma única vez por compilação ({@link TypeRegistry}), adiando para a
+ *       rodada seguinte as que dependem de tipos ainda não gerados</li>
  * </ul>
  * </p>
  *
@@ -68,6 +90,30 @@ public class AddFieldsProcessor extends AbstractProcessor {
     /** Messager customizado */
     private FieldsMessager messager;
 
+    /** Resolve e mantém em cache os planos de campos */
+    private FieldPlanner planner;
+
+    /** Gerador de métodos de acesso injetados na AST */
+    private AccessorGenerator accessors;
+
+    /** Gerador das classes de índice secundário */
+    private IndexGenerator indexes;
+
+    /** Gerador do modo snapshot (seqlock) */
+    private SnapshotGenerator snapshots;
+
+    /** Gerador dos contadores distribuídos */
+    private CounterGenerator counters;
+
+    /** Gerador das coleções de primitivos */
+    private CollectionGenerator collections;
+
+    /** Gerador do arquivo de registros mapeado em memória */
+    private StoreGenerator stores;
+
+    /** Classes já modificadas (ou adiadas) nesta compilação */
+    private final TypeRegistry registry = new TypeRegistry();
+
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
@@ -92,62 +138,336 @@ public class AddFieldsProcessor extends AbstractProcessor {
         var procMessager = processingEnv.getMessager();
         messager = new FieldsMessager(procMessager);
         validator = new FieldsValidator(messager);
+        planner = FieldPlanner.of(processingEnv.getTypeUtils(), messager);
+        accessors = new AccessorGenerator(maker, names);
+        SourceWriter writer = new SourceWriter(processingEnv.getFiler(), messager);
+        indexes = new IndexGenerator(writer);
+        snapshots = new SnapshotGenerator(maker, names, accessors, writer);
+        counters = new CounterGenerator(maker, names, accessors, writer);
+        collections = new CollectionGenerator(maker, names, accessors);
+        stores = new StoreGenerator(writer);
     }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 
+        if (roundEnv.processingOver()) {
+            verify();
+            return true;
+        }
+
+        planner.newRound(roundEnv);
+
+        List<TypeElement> annotated = new ArrayList<>();
         for (Element element : roundEnv.getElementsAnnotatedWith(AddFields.class)) {
-            if (!(element instanceof TypeElement type)) continue;
+            if (element instanceof TypeElement type) {
+                annotated.add(type);
+            }
+        }
+
+        for (TypeElement type : registry.candidates(annotated, processingEnv.getElementUtils())) {
 
-            AddFields annotation = element.getAnnotation(AddFields.class);
+            AddFields annotation = type.getAnnotation(AddFields.class);
 
-            JCTree.JCClassDecl classDecl = trees.getTree(type);
+            // Tipos gerados por outro processor só existem nas rodadas seguintes
+            if (!planner.isResolvable(annotation)) {
+                messager.note(
+                        type,
+                        "@AddFields: tipos de campo ainda nao resolvidos em " + type.getSimpleName()
+                                + ". Processamento adiado para a proxima rodada."
+                );
+                registry.defer(type);
+                continue;
+            }
 
-            for (FieldDef fieldDef : annotation.value()) {
+            registry.record(type, inject(type, annotation));
+        }
 
-                if (!validator.isEligible(type, fieldDef.name())) {
-                    continue;
-                }
+        return true;
+    }
 
-                JCTree.JCVariableDecl fieldDecl = createField(fieldDef);
+    /**
+     * Rodada final: reporta as classes que continuaram adiadas e confere se as declarações
+     * injetadas continuam na AST (outro processor pode ter substituído a árvore da classe).
+     */
+    private void verify() {
+        for (String name : registry.pending()) {
+            messager.error(
+                    processingEnv.getElementUtils().getTypeElement(name),
+                    "@AddFields: tipos de campo de %s nao foram resolvidos em nenhuma rodada. Nenhum campo foi gerado.",
+                    name
+            );
+        }
 
-                messager.note(
+        for (String name : registry.processed()) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+            JCTree.JCClassDecl classDecl = type == null ? null : trees.getTree(type);
+            if (classDecl == null) {
+                continue;
+            }
+            for (String field : registry.missing(type, classDecl)) {
+                messager.error(
                         type,
-                        "@AddFields: Incluindo campo '" + fieldDef.name()
-                                + "' na classe " + type.getSimpleName()
+                        "@AddFields: campo '%s' injetado em %s nao esta mais na AST da classe. "
+                                + "Outro processor substituiu a arvore apos a geracao.",
+                        field, name
                 );
+            }
+        }
+    }
+
+    /**
+     * Aplica o plano de campos na AST da classe.
+     *
+     * @return nomes das declarações de campo injetadas na AST: os campos gerados e os de
+     *         suporte ({@code $sparse}, base do contador, dados da coleção)
+     */
+    private List<String> inject(TypeElement type, AddFields annotation) {
+
+        JCTree.JCClassDecl classDecl = trees.getTree(type);
+
+        // Posiciona os nós gerados dentro da classe; o TreeMaker é compartilhado com o javac
+        maker.at(classDecl.pos);
+
+        List<String> fields = new ArrayList<>();
+        List<FieldPlan> injected = new ArrayList<>();
+        List<FieldPlan> sparse = new ArrayList<>();
+        List<FieldPlan> plans = planner.plan(type, annotation);
+
+        // Índices, contadores, snapshot e store são classes companheiras que referenciam a classe anotada
+        boolean companion = annotation.snapshot() || annotation.store()
+                || plans.stream().anyMatch(plan -> plan.indexed() || plan.counter());
+        if (companion && !validator.isCompanionAccessible(type)) {
+            return fields;
+        }
+
+        for (FieldPlan plan : plans) {
+
+            if (!validator.isEligible(type, plan.name())) {
+                continue;
+            }
+
+            if (plan.collection()) {
+                if (addCollection(type, classDecl, plan)) {
+                    fields.add(CollectionGenerator.dataField(plan.name()));
+                }
+                continue;
+            }
 
-                classDecl.defs = classDecl.defs.prepend(fieldDecl);
+            if (plan.counter()) {
+                if (addCounter(type, classDecl, plan)) {
+                    fields.add(CounterGenerator.baseField(plan.name()));
+                }
+                continue;
+            }
+
+            if (plan.sparse()) {
+                if (validator.isSparseEligible(type, plan.name(), plan.type())) {
+                    sparse.add(plan);
+                    injected.add(plan);
+                }
+                continue;
             }
+
+            JCTree.JCVariableDecl fieldDecl = createField(plan);
+
+            messager.note(
+                    type,
+                    "@AddFields: Incluindo campo '" + plan.name()
+                            + "' na classe " + type.getSimpleName()
+            );
+
+            classDecl.defs = classDecl.defs.prepend(fieldDecl);
+            fields.add(plan.name());
+            injected.add(plan);
+
+            if (plan.indexed()) {
+                String indexName = addIndex(type, plan);
+                if (indexName != null) {
+                    classDecl.defs = classDecl.defs.append(accessors.indexedSetter(
+                            plan.name(), plan.type(), indexName
+                    ));
+                    if (!validator.declaresGetter(type, plan.name())) {
+                        classDecl.defs = classDecl.defs.append(accessors.indexedGetter(plan.name(), plan.type()));
+                    }
+                }
+            }
+        }
+
+        if (!sparse.isEmpty()) {
+            addSparse(type, classDecl, sparse);
+            fields.add(AccessorGenerator.SPARSE_FIELD);
+        }
+
+        if (annotation.snapshot() && !injected.isEmpty()) {
+            addSnapshot(type, classDecl, injected);
         }
 
+        if (annotation.store() && !injected.isEmpty()) {
+            addStore(type, injected);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Gera a classe de índice do campo. O setter que a mantém atualizada é injetado pelo chamador.
+     *
+     * @return nome simples da classe de índice, ou {@code null} se não foi gerada
+     */
+    private String addIndex(TypeElement type, FieldPlan plan) {
+
+        // Campos esparsos não existem como campo: só são acessíveis pelo getter/setter gerados
+        long modifier = plan.sparse() ? 2L : plan.modifier();
+        if (!validator.isIndexable(type, plan.name(), plan.type(), modifier)) {
+            return null;
+        }
+
+        String indexName = indexes.generate(type, plan.name(), plan.typeElement(), plan.sorted());
+        if (indexName != null) {
+            messager.note(
+                    type,
+                    "@AddFields: Gerando indice '" + indexName + "' para o campo '" + plan.name() + "'"
+            );
+        }
+        return indexName;
+    }
+
+    /**
+     * Injeta o array de extensão e os getters/setters dos campos esparsos.
+     * Cada campo ocupa uma posição fixa do array, na ordem de definição.
+     */
+    private void addSparse(TypeElement type, JCTree.JCClassDecl classDecl, List<FieldPlan> plans) {
+
+        messager.note(
+                type,
+                "@AddFields: Incluindo " + plans.size() + " campo(s) esparso(s) na classe " + type.getSimpleName()
+        );
+
+        classDecl.defs = classDecl.defs.prepend(accessors.sparseField());
+
+        for (int slot = 0; slot < plans.size(); slot++) {
+            FieldPlan plan = plans.get(slot);
+            String indexName = plan.indexed() ? addIndex(type, plan) : null;
+
+            classDecl.defs = classDecl.defs
+                    .append(accessors.sparseGetter(plan.name(), plan.type(), slot))
+                    .append(accessors.sparseSetter(plan.name(), plan.type(), slot, plans.size(), indexName));
+        }
+    }
+
+    /**
+     * Gera a classe companheira do contador e injeta a base, a tabela de células e os
+     * métodos de acesso. Contadores não participam do snapshot.
+     *
+     * @return {@code true} se o contador foi gerado
+     */
+    private boolean addCounter(TypeElement type, JCTree.JCClassDecl classDecl, FieldPlan plan) {
+
+        if (!validator.isCounterEligible(type, plan.name(), plan.type(), plan.indexed() || plan.sparse())) {
+            return false;
+        }
+
+        String counterName = counters.generate(type, plan.name());
+        if (counterName == null) {
+            return false;
+        }
+
+        messager.note(
+                type,
+                "@AddFields: Gerando contador '" + counterName + "' na classe " + type.getSimpleName()
+        );
+
+        classDecl.defs = classDecl.defs
+                .prependList(counters.fields(plan.name()))
+                .appendList(counters.methods(plan.name(), counterName));
         return true;
     }
 
     /**
-     * Cria um campo {@link JCTree.JCVariableDecl} a partir de um {@link FieldDef}.
+     * Injeta o array de apoio, o tamanho e os métodos de uma coleção de primitivos.
+     * Coleções não participam do snapshot.
+     *
+     * @return {@code true} se a coleção foi gerada
      */
-    private JCTree.JCVariableDecl createField(FieldDef fieldDef) {
+    private boolean addCollection(TypeElement type, JCTree.JCClassDecl classDecl, FieldPlan plan) {
+
+        boolean combined = plan.indexed() || plan.sparse() || plan.counter();
+        if (!validator.isCollectionEligible(type, plan.name(), plan.type(), combined)) {
+            return false;
+        }
 
-        TypeMirror typeMirror;
+        TypeKind kind = CollectionGenerator.elementKind(plan.type());
 
-        try {
-            fieldDef.type();
-            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
-        } catch (MirroredTypeException e) {
-            typeMirror = e.getTypeMirror();
+        messager.note(
+                type,
+                "@AddFields: Incluindo colecao de " + kind.name().toLowerCase() + " '" + plan.name()
+                        + "' na classe " + type.getSimpleName()
+        );
+
+        classDecl.defs = classDecl.defs
+                .prependList(collections.fields(plan.name(), kind))
+                .appendList(collections.methods(plan.name(), kind));
+        return true;
+    }
+
+    /**
+     * Gera o record de snapshot e injeta o contador de sequência e os métodos
+     * {@code writeSnapshot}/{@code readSnapshot} sobre os campos gerados.
+     */
+    private void addSnapshot(TypeElement type, JCTree.JCClassDecl classDecl, List<FieldPlan> plans) {
+
+        String recordName = snapshots.generateRecord(type, plans);
+        if (recordName == null) {
+            return;
         }
 
-        TypeElement typeElement =
-                (TypeElement) processingEnv.getTypeUtils().asElement(typeMirror);
+        messager.note(type, "@AddFields: Gerando snapshot '" + recordName + "' na classe " + type.getSimpleName());
+
+        classDecl.defs = classDecl.defs
+                .prepend(snapshots.sequenceField())
+                .append(snapshots.writer(plans))
+                .append(snapshots.recordWriter(plans, recordName))
+                .append(snapshots.reader(plans, recordName));
+    }
 
-        String simpleTypeName = typeElement.getSimpleName().toString();
+    /**
+     * Gera o {@code <Classe>Store} com os campos de instância gerados, na ordem de definição.
+     */
+    private void addStore(TypeElement type, List<FieldPlan> plans) {
+
+        List<FieldPlan> persisted = new ArrayList<>();
+        for (FieldPlan plan : plans) {
+            if ((plan.modifier() & 8L) == 0) {
+                persisted.add(plan);
+            }
+        }
+
+        if (persisted.isEmpty() || !validator.isStorable(type, persisted)) {
+            return;
+        }
+
+        String storeName = stores.generate(type, persisted);
+        if (storeName != null) {
+            messager.note(type, "@AddFields: Gerando store '" + storeName + "' na classe " + type.getSimpleName());
+        }
+    }
+
+    /**
+     * Cria um campo {@link JCTree.JCVariableDecl} a partir de um {@link FieldPlan}.
+     * <p>
+     * O tipo é referenciado pelo nome qualificado, já que campos vindos de um
+     * {@link br.com.restick.api.annotation.FieldSet} podem usar tipos não importados
+     * pela classe anotada. Tipos primitivos e arrays são montados a partir do
+     * {@link javax.lang.model.type.TypeMirror}.
+     * </p>
+     */
+    private JCTree.JCVariableDecl createField(FieldPlan plan) {
 
         return maker.VarDef(
-                maker.Modifiers(fieldDef.modifier()),
-                names.fromString(fieldDef.name()),
-                maker.Ident(names.fromString(simpleTypeName)),
+                maker.Modifiers(plan.modifier()),
+                names.fromString(plan.name()),
+                accessors.typeTree(plan.type()),
                 null
         );
     }
@@ -0,0 +1,177 @@
+package br.com.restick.internal.processor;
+
+import br.com.restick.api.annotation.Mapper;
+import br.com.restick.internal.generator.MapperGenerator;
+import br.com.restick.internal.generator.SourceWriter;
+import br.com.restick.internal.massager.FieldsMessager;
+import br.com.restick.internal.model.FieldCollector;
+import br.com.restick.internal.model.FieldPlanner;
+import br.com.restick.internal.model.TypeRegistry;
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation Processor que processa {@link Mapper}.
+ * <p>
+ * Para cada tipo anotado gera a classe {@code <Tipo>Impl} com os métodos estáticos
+ * {@code map}, {@code mapInto} e {@code mapAll} (conversão em lote de arrays),
+ * copiando os campos da origem para o destino em código linear.
+ * </p>
+ *
+ * <p>
+ * Diferente do {@link AddFieldsProcessor}, este processor não altera a AST: apenas
+ * gera código-fonte pelo {@link javax.annotation.processing.Filer}, e por isso não
+ * depende das APIs internas do javac.
+ * </p>
+ *
+ * <p>
+ * Mappers cuja origem ou destino ainda não existe (ex: gerado por outro processor) são
+ * adiados para a rodada seguinte; os que continuarem pendentes na rodada final geram
+ * {@code error}.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@AutoService(Processor.class)
+@SupportedAnnotationTypes("br.com.restick.api.annotation.Mapper")
+@SupportedSourceVersion(SourceVersion.RELEASE_25)
+public class MapperProcessor extends AbstractProcessor {
+
+    /** Gerador das implementações de mapper */
+    private MapperGenerator generator;
+
+    /** Planos dos campos gerados por {@code @AddFields}, compartilhados com o {@link AddFieldsProcessor} */
+    private FieldPlanner planner;
+
+    private FieldsMessager messager;
+
+    /** Mappers adiados para a próxima rodada, por nome qualificado */
+    private final Set<String> deferred = new LinkedHashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        messager = new FieldsMessager(processingEnv.getMessager());
+        planner = FieldPlanner.of(processingEnv.getTypeUtils(), messager);
+        generator = new MapperGenerator(
+                new SourceWriter(processingEnv.getFiler(), messager),
+                new FieldCollector(planner),
+                processingEnv.getTypeUtils(),
+                messager
+        );
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            for (String name : deferred) {
+                messager.error(
+                        processingEnv.getElementUtils().getTypeElement(name),
+                        "@Mapper: origem ou destino de %s nao foram resolvidos em nenhuma rodada. Nada foi gerado.",
+                        name
+                );
+            }
+            return true;
+        }
+
+        planner.newRound(roundEnv);
+
+        // Adiados da rodada anterior, resolvidos novamente, seguidos dos anotados nesta rodada
+        Map<String, TypeElement> candidates = new LinkedHashMap<>();
+        for (String name : deferred) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+            if (type != null) {
+                candidates.put(name, type);
+            }
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Mapper.class)) {
+            if (element instanceof TypeElement type) {
+                candidates.putIfAbsent(type.getQualifiedName().toString(), type);
+            }
+        }
+        deferred.clear();
+
+        for (TypeElement type : candidates.values()) {
+
+            Mapper annotation = type.getAnnotation(Mapper.class);
+
+            TypeMirror sourceType = sourceOf(annotation);
+            TypeMirror targetType = targetOf(annotation);
+
+            // Tipos gerados por outro processor só existem nas rodadas seguintes
+            if (!TypeRegistry.isResolved(sourceType) || !TypeRegistry.isResolved(targetType)) {
+                messager.note(
+                        type,
+                        "@Mapper: origem ou destino ainda nao resolvidos em " + type.getSimpleName()
+                                + ". Processamento adiado para a proxima rodada."
+                );
+                deferred.add(type.getQualifiedName().toString());
+                continue;
+            }
+
+            TypeElement source = asTypeElement(type, "source", sourceType);
+            TypeElement target = asTypeElement(type, "target", targetType);
+            if (source == null || target == null) {
+                continue;
+            }
+
+            generator.generate(type, source, target);
+        }
+
+        return true;
+    }
+
+    /**
+     * Classe referenciada pelo atributo, ou {@code null} (com {@code error}) se o atributo
+     * aponta para um primitivo, array ou {@code void}.
+     */
+    private TypeElement asTypeElement(TypeElement mapper, String attribute, TypeMirror typeMirror) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            messager.error(
+                    mapper,
+                    "@Mapper: '%s' deve ser uma classe, mas recebeu '%s'.",
+                    attribute, typeMirror
+            );
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) typeMirror).asElement();
+    }
+
+    private static TypeMirror sourceOf(Mapper annotation) {
+        try {
+            annotation.source();
+            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
+        } catch (MirroredTypeException e) {
+            return e.getTypeMirror();
+        }
+    }
+
+    private static TypeMirror targetOf(Mapper annotation) {
+        try {
+            annotation.target();
+            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
+        } catch (MirroredTypeException e) {
+            return e.getTypeMirror();
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package br.com.restick.internal.validator;
 
+import br.com.restick.internal.generator.CollectionGenerator;
+import br.com.restick.internal.generator.CounterGenerator;
+import br.com.restick.internal.generator.GeneratedNames;
+import br.com.restick.internal.generator.StoreGenerator;
+import br.com.restick.internal.generator.IndexGenerator;
 import br.com.restick.internal.massager.FieldsMessager;
+import br.com.restick.internal.model.FieldPlan;
 import lombok.RequiredArgsConstructor;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Classe responsável por validar se um {@link TypeElement} é elegível para
@@ -96,4 +108,305 @@ public class FieldsValidator {
 
         return true;
     }
+
+    /**
+     * Verifica se as classes companheiras (geradas no topo do pacote) conseguem referenciar
+     * a classe: classes aninhadas, e as que as envolvem, devem ser {@code static} e não privadas.
+     *
+     * @param type a classe anotada
+     * @return {@code true} se as classes companheiras puderem ser geradas
+     */
+    public boolean isCompanionAccessible(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement nested
+                && current.getEnclosingElement() instanceof TypeElement;
+             current = current.getEnclosingElement()) {
+
+            if (nested.getModifiers().contains(Modifier.PRIVATE)
+                    || (nested.getKind() == ElementKind.CLASS && !nested.getModifiers().contains(Modifier.STATIC))) {
+                messager.error(
+                        type,
+                        "@AddFields: a classe aninhada %s deve ser static e nao privada para gerar "
+                                + "classes companheiras.",
+                        nested.getQualifiedName()
+                );
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se um campo gerado pode receber índice secundário.
+     * <p>
+     * O tipo do campo deve ser {@code String} ou um wrapper numérico (tipos primitivos
+     * não são aceitos, pois o índice usa {@code null} como ausência), e a classe não pode
+     * declarar um setter com o mesmo nome do que seria gerado.
+     * </p>
+     * <p>
+     * Campos {@code public} ou {@code protected} geram {@code warning}: atribuições diretas
+     * ao campo não passam pelo setter e deixam o índice desatualizado. O acesso de pacote
+     * continua aceito, pois o store gerado no pacote atribui os campos diretamente.
+     * </p>
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome do campo indexado
+     * @param fieldType o tipo do campo
+     * @param modifier modificadores do campo, como em {@code FieldDef#modifier()}
+     * @return {@code true} se o índice puder ser gerado
+     */
+    public boolean isIndexable(TypeElement type, String fieldName, TypeMirror fieldType, long modifier) {
+
+        if (fieldType.getKind() != TypeKind.DECLARED
+                || !IndexGenerator.supports((TypeElement) ((DeclaredType) fieldType).asElement())) {
+            messager.error(
+                    type,
+                    "@AddFields: campo '%s' do tipo %s nao pode ser indexado. "
+                            + "Use String, Long, Integer, Short, Byte, Character, Double ou Float.",
+                    fieldName, GeneratedNames.typeName(fieldType)
+            );
+            return false;
+        }
+
+        Element setter = findMethod(type, GeneratedNames.setter(fieldName), 1);
+        if (setter != null) {
+            messager.error(
+                    setter,
+                    "@AddFields: metodo '%s' ja existe na classe. O campo indexado '%s' "
+                            + "precisa do setter gerado para manter o indice.",
+                    setter.getSimpleName(), fieldName
+            );
+            return false;
+        }
+
+        if ((modifier & (1L | 4L)) != 0) {
+            messager.warning(
+                    type,
+                    "@AddFields: campo indexado '%s' visivel fora do pacote. Atribuicoes diretas "
+                            + "(obj.%s = ...) nao atualizam o indice; declare o campo privado ou de pacote "
+                            + "e use os metodos %s/%s gerados.",
+                    fieldName, fieldName, GeneratedNames.getter(fieldName), GeneratedNames.setter(fieldName)
+            );
+        }
+
+        return true;
+    }
+
+    /**
+     * Indica se a classe já declara o getter do campo; nesse caso o getter do campo
+     * indexado não é gerado.
+     */
+    public boolean declaresGetter(TypeElement type, String fieldName) {
+        return findMethod(type, GeneratedNames.getter(fieldName), 0) != null;
+    }
+
+    /**
+     * Verifica se um campo esparso pode ser gerado: o tipo não pode ser primitivo
+     * (ausência é representada por {@code null}) e a classe não pode declarar o
+     * getter nem o setter que dão acesso ao valor armazenado no array de extensão.
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome do campo esparso
+     * @param fieldType o tipo do campo
+     * @return {@code true} se os acessores puderem ser gerados
+     */
+    public boolean isSparseEligible(TypeElement type, String fieldName, TypeMirror fieldType) {
+
+        if (fieldType.getKind().isPrimitive()) {
+            messager.error(
+                    type,
+                    "@AddFields: campo esparso '%s' nao pode ser do tipo primitivo %s. "
+                            + "Use o wrapper correspondente.",
+                    fieldName, GeneratedNames.typeName(fieldType)
+            );
+            return false;
+        }
+
+        Element accessor = findMethod(type, GeneratedNames.getter(fieldName), 0);
+        if (accessor == null) {
+            accessor = findMethod(type, GeneratedNames.setter(fieldName), 1);
+        }
+
+        if (accessor != null) {
+            messager.error(
+                    accessor,
+                    "@AddFields: metodo '%s' ja existe na classe. O campo esparso '%s' "
+                            + "e acessado apenas pelo getter/setter gerados.",
+                    accessor.getSimpleName(), fieldName
+            );
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Verifica se um contador pode ser gerado: o tipo deve ser {@code long} ou {@code Long},
+     * o campo não pode ser indexado nem esparso, e a classe não pode declarar os métodos
+     * que seriam gerados.
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome do contador
+     * @param fieldType o tipo declarado do contador
+     * @param combined se o campo também foi marcado como indexado ou esparso
+     * @return {@code true} se o contador puder ser gerado
+     */
+    public boolean isCounterEligible(TypeElement type, String fieldName, TypeMirror fieldType, boolean combined) {
+
+        if (!CounterGenerator.supports(fieldType)) {
+            messager.error(
+                    type,
+                    "@AddFields: contador '%s' do tipo %s nao suportado. Use long ou Long.",
+                    fieldName, fieldType
+            );
+            return false;
+        }
+
+        if (combined) {
+            messager.error(
+                    type,
+                    "@AddFields: contador '%s' nao pode ser indexado nem esparso.",
+                    fieldName
+            );
+            return false;
+        }
+
+        return hasNoConflict(type, fieldName, CounterGenerator.methodNames(fieldName), "o contador");
+    }
+
+    /**
+     * Verifica se uma coleção de primitivos pode ser gerada: o tipo deve ser {@code int},
+     * {@code long} ou {@code double} (ou o wrapper correspondente), o campo não pode ser
+     * indexado, esparso nem contador, e a classe não pode declarar os métodos que seriam gerados.
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome da coleção
+     * @param fieldType o tipo declarado dos elementos
+     * @param combined se o campo também foi marcado como indexado, esparso ou contador
+     * @return {@code true} se a coleção puder ser gerada
+     */
+    public boolean isCollectionEligible(TypeElement type, String fieldName, TypeMirror fieldType, boolean combined) {
+
+        if (CollectionGenerator.elementKind(fieldType) == null) {
+            messager.error(
+                    type,
+                    "@AddFields: colecao '%s' do tipo %s nao suportada. Use int, long ou double.",
+                    fieldName, fieldType
+            );
+            return false;
+        }
+
+        if (combined) {
+            messager.error(
+                    type,
+                    "@AddFields: colecao '%s' nao pode ser indexada, esparsa nem contador.",
+                    fieldName
+            );
+            return false;
+        }
+
+        return hasNoConflict(type, fieldName, CollectionGenerator.methodNames(fieldName), "a colecao");
+    }
+
+    /**
+     * Verifica se os campos podem ser gravados pelo {@code <Classe>Store}: cada tipo deve ter
+     * tamanho fixo conhecido, o campo deve ser legível a partir do pacote da classe (campos
+     * privados só via getter esparso, e esparsos não podem ser indexados) e a classe deve ter
+     * construtor vazio não privado.
+     *
+     * @param type a classe anotada
+     * @param plans campos a persistir
+     * @return {@code true} se o store puder ser gerado
+     */
+    public boolean isStorable(TypeElement type, List<FieldPlan> plans) {
+        boolean valid = true;
+
+        for (FieldPlan plan : plans) {
+            if (!StoreGenerator.isString(plan.type()) && plan.length() != StoreGenerator.DEFAULT_STRING_LENGTH) {
+                messager.warning(
+                        type,
+                        "@AddFields: length do campo '%s' ignorado: apenas campos String usam length.",
+                        plan.name()
+                );
+            }
+
+            if (!StoreGenerator.supports(plan.type())) {
+                messager.error(
+                        type,
+                        "@AddFields: campo '%s' do tipo %s nao pode ser gravado pelo store. "
+                                + "Use tipos primitivos, wrappers, String ou java.time.Instant.",
+                        plan.name(), plan.type()
+                );
+                valid = false;
+            } else if (StoreGenerator.isString(plan.type())
+                    && (plan.length() < 1 || plan.length() > StoreGenerator.MAX_STRING_LENGTH)) {
+                messager.error(
+                        type,
+                        "@AddFields: campo '%s' com length %d invalido. Use de 1 a %d bytes.",
+                        plan.name(), plan.length(), StoreGenerator.MAX_STRING_LENGTH
+                );
+                valid = false;
+            } else if (plan.sparse() && plan.indexed()) {
+                messager.error(
+                        type,
+                        "@AddFields: campo esparso indexado '%s' nao pode ser gravado pelo store. "
+                                + "A leitura exigiria o setter, que atualiza o indice.",
+                        plan.name()
+                );
+                valid = false;
+            } else if (!plan.sparse() && (plan.modifier() & 2L) != 0) {
+                messager.error(
+                        type,
+                        "@AddFields: campo privado '%s' nao pode ser gravado pelo store.",
+                        plan.name()
+                );
+                valid = false;
+            }
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.CONSTRUCTOR
+                    && ((ExecutableElement) enclosed).getParameters().isEmpty()
+                    && enclosed.getModifiers().contains(Modifier.PRIVATE)) {
+                messager.error(type, "@AddFields: o store exige construtor vazio nao privado.");
+                valid = false;
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Verifica se a classe não declara nenhum dos métodos que serão gerados para o campo.
+     *
+     * @param methods nomes dos métodos gerados e quantidade de parâmetros de cada um
+     * @param kind descrição do campo usada na mensagem (ex: "o contador")
+     */
+    private boolean hasNoConflict(TypeElement type, String fieldName, Map<String, Integer> methods, String kind) {
+        for (Map.Entry<String, Integer> method : methods.entrySet()) {
+            Element declared = findMethod(type, method.getKey(), method.getValue());
+            if (declared != null) {
+                messager.error(
+                        declared,
+                        "@AddFields: metodo '%s' ja existe na classe e conflita com %s '%s'.",
+                        declared.getSimpleName(), kind, fieldName
+                );
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Procura um método declarado na classe pelo nome e quantidade de parâmetros.
+     */
+    private static Element findMethod(TypeElement type, String name, int parameters) {
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD
+                    && enclosed.getSimpleName().contentEquals(name)
+                    && ((ExecutableElement) enclosed).getParameters().size() == parameters) {
+                return enclosed;
+            }
+        }
+        return null;
+    }
 }
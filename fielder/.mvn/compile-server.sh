@@ -0,0 +1,15 @@
+#!/bin/bash
+export JAVA_HOME=/caminho/para/jdk-25
+export PATH=$JAVA_HOME/bin:$PATH
+
+# Inicia o servidor de compilação do ReStick, que mantém javac e processors carregados entre builds.
+# Uso: ./compile-server.sh [porta]   (encerrar: java -cp <jar> br.com.restick.internal.server.CompileClient --shutdown)
+PROCESSOR_JAR="$(dirname "$0")/../fielder-processor/target/fielder-processor-1.0-SNAPSHOT.jar"
+
+java \
+--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED \
+--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED \
+--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED \
+--add-exports=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED \
+--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED \
+-cp "$PROCESSOR_JAR" br.com.restick.internal.server.CompileServer "$@"
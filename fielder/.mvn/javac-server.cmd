@@ -0,0 +1,8 @@
+@echo off
+REM Executavel "javac" para o maven-compiler-plugin (perfil compile-server): repassa a compilacao ao
+REM servidor de compilacao do ReStick, que precisa estar em execucao (compile-server.cmd).
+set PROCESSOR_JAR=%~dp0..\fielder-processor\target\fielder-processor-1.0-SNAPSHOT.jar
+set JAVA=java
+if defined JAVA_HOME set JAVA=%JAVA_HOME%\bin\java
+
+"%JAVA%" -cp "%PROCESSOR_JAR%" br.com.restick.internal.server.CompileClient %*
@@ -2,7 +2,7 @@ package br.com.restick.app.model;
 
 import br.com.restick.api.annotation.Fielder;
 
-@Fielder(name = "value", type = Long.class)
+@Fielder(name = "value", type = Long.class, indexed = true)
 public class Item {
 
     public String name;
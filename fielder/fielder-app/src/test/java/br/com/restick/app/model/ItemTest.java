@@ -0,0 +1,39 @@
+package br.com.restick.app.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Exercita o campo indexado gerado por {@code @Fielder} em {@link Item}.
+ *
+ * @author William
+ * @since 1.0
+ */
+class ItemTest {
+
+    @BeforeEach
+    void clearIndex() {
+        ItemValueIndex.clear();
+    }
+
+    @Test
+    void indexFollowsSetter() {
+        Item first = new Item();
+        first.setValue(4L);
+        Item second = new Item();
+        second.setValue(4L);
+
+        assertEquals(2, ItemValueIndex.count(4L));
+        assertSame(first, ItemValueIndex.first(4L));
+        assertEquals(4L, first.getValue());
+
+        first.setValue(null);
+        assertEquals(1, ItemValueIndex.count(4L));
+        assertSame(second, ItemValueIndex.first(4L));
+        assertNull(first.getValue());
+    }
+}
@@ -10,4 +10,25 @@ import java.lang.annotation.Target;
 public @interface Fielder {
     String name();
     Class<?> type() default String.class;
+
+    /**
+     * Gera um índice secundário em memória para o campo (ex: {@code ItemValueIndex}),
+     * mantido atualizado pelo setter gerado. Suportado para {@code String} e
+     * wrappers numéricos inteiros.
+     */
+    boolean indexed() default false;
+
+    /**
+     * Quando {@link #indexed()} está ativo, mantém as chaves ordenadas,
+     * habilitando consultas por intervalo.
+     */
+    boolean sorted() default false;
+
+    /**
+     * Gera um contador {@code long} para acesso concorrente intenso: em vez de um campo
+     * simples, são injetados uma base e uma tabela de células (criada apenas sob disputa)
+     * e os métodos {@code increment<Campo>()}, {@code add<Campo>(long)}, {@code sum<Campo>()}
+     * e {@code sumThenReset<Campo>()}. Exige {@code type = long.class} ou {@code Long.class}.
+     */
+    boolean counter() default false;
 }
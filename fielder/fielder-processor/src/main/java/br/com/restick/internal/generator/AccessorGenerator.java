@@ -0,0 +1,134 @@
+package br.com.restick.internal.generator;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Cria, diretamente na AST, os métodos de acesso injetados nas classes anotadas.
+ * <p>
+ * Os nós são construídos com o {@link TreeMaker} do javac, da mesma forma que os
+ * campos gerados, e referenciam as classes companheiras pelo nome simples (mesmo pacote).
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class AccessorGenerator {
+
+    private final TreeMaker maker;
+
+    private final Names names;
+
+    /**
+     * Cria o setter de um campo indexado:
+     * <pre>{@code
+     * public void setValue(Long value) {
+     *     CarValueIndex.update(this, this.value, value);
+     *     this.value = value;
+     * }
+     * }</pre>
+     *
+     * @param fieldName nome do campo
+     * @param typeName nome (simples ou qualificado) do tipo do campo
+     * @param indexName nome simples da classe de índice
+     */
+    public JCTree.JCMethodDecl indexedSetter(String fieldName, String typeName, String indexName) {
+        JCTree.JCStatement update = maker.Exec(maker.Apply(
+                List.nil(),
+                maker.Select(typeTree(indexName), names.fromString(IndexGenerator.UPDATE_METHOD)),
+                List.of(maker.Ident(names._this), thisField(fieldName), maker.Ident(names.fromString(fieldName)))
+        ));
+
+        return setter(fieldName, typeName, List.of(update, assignField(fieldName)));
+    }
+
+    /**
+     * Cria o getter de um campo indexado, que é declarado privado:
+     * <pre>{@code
+     * public Long getValue() {
+     *     return this.value;
+     * }
+     * }</pre>
+     */
+    public JCTree.JCMethodDecl indexedGetter(String fieldName, TypeMirror fieldType) {
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(GeneratedNames.getter(fieldName)),
+                typeTree(fieldType),
+                List.nil(),
+                List.nil(),
+                List.nil(),
+                maker.Block(0, List.of(maker.Return(thisField(fieldName)))),
+                null
+        );
+    }
+
+    /**
+     * Cria um setter público cujo corpo é formado pelas instruções informadas.
+     */
+    private JCTree.JCMethodDecl setter(String fieldName, String typeName, List<JCTree.JCStatement> body) {
+        JCTree.JCVariableDecl param = maker.VarDef(
+                maker.Modifiers(Flags.PARAMETER),
+                names.fromString(fieldName),
+                typeTree(typeName),
+                null
+        );
+
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(GeneratedNames.setter(fieldName)),
+                maker.TypeIdent(TypeTag.VOID),
+                List.nil(),
+                List.of(param),
+                List.nil(),
+                maker.Block(0, body),
+                null
+        );
+    }
+
+    /** {@code this.field = field;} */
+    private JCTree.JCStatement assignField(String fieldName) {
+        return maker.Exec(maker.Assign(thisField(fieldName), maker.Ident(names.fromString(fieldName))));
+    }
+
+    /** {@code this.field} */
+    private JCTree.JCExpression thisField(String fieldName) {
+        return maker.Select(maker.Ident(names._this), names.fromString(fieldName));
+    }
+
+    /**
+     * Converte um tipo em uma expressão da AST: primitivos em {@code TypeIdent}, arrays
+     * em {@code TypeArray} e classes pelo nome qualificado.
+     */
+    public JCTree.JCExpression typeTree(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return maker.TypeIdent(TypeTag.valueOf(type.getKind().name()));
+        }
+        if (type instanceof ArrayType array) {
+            return maker.TypeArray(typeTree(array.getComponentType()));
+        }
+        return typeTree(GeneratedNames.typeName(type));
+    }
+
+    /**
+     * Converte um nome de tipo ({@code Long} ou {@code java.lang.Long}) em uma
+     * expressão {@code Ident}/{@code Select} da AST.
+     */
+    public JCTree.JCExpression typeTree(String typeName) {
+        String[] parts = typeName.split("\\.");
+        JCTree.JCExpression tree = maker.Ident(names.fromString(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            tree = maker.Select(tree, names.fromString(parts[i]));
+        }
+        return tree;
+    }
+}
@@ -0,0 +1,336 @@
+package br.com.restick.internal.generator;
+
+import com.sun.tools.javac.code.Flags;
+import com.sun.tools.javac.code.TypeTag;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.TreeMaker;
+import com.sun.tools.javac.util.List;
+import com.sun.tools.javac.util.Names;
+import lombok.RequiredArgsConstructor;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gera os campos marcados com {@code counter = true}: contadores {@code long} distribuídos
+ * em células, no estilo de {@link java.util.concurrent.atomic.LongAdder}, embutidos na
+ * própria classe.
+ * <p>
+ * São injetados na classe, para o campo {@code hits}:
+ * <ul>
+ *   <li>{@code volatile long $hitsBase}: recebe as somas enquanto não há disputa, sem
+ *       nenhum objeto auxiliar;</li>
+ *   <li>{@code volatile long[][] $hitsCells}: tabela de células criada na primeira disputa
+ *       e expandida sob demanda até o número de processadores;</li>
+ *   <li>{@code incrementHits()}, {@code addHits(long)}, {@code sumHits()} e
+ *       {@code sumThenResetHits()}, que delegam à classe companheira {@code <Classe>HitsCounter}.</li>
+ * </ul>
+ * Os campos são package-private para que a classe companheira (mesmo pacote) obtenha
+ * seus {@link java.lang.invoke.VarHandle}s.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class CounterGenerator {
+
+    /** Sufixo da classe companheira */
+    public static final String SUFFIX = "Counter";
+
+    private final TreeMaker maker;
+
+    private final Names names;
+
+    private final AccessorGenerator accessors;
+
+    private final SourceWriter writer;
+
+    /**
+     * Indica se o tipo informado pode ser usado como contador ({@code long} ou {@code Long}).
+     */
+    public static boolean supports(TypeMirror fieldType) {
+        if (fieldType.getKind() == TypeKind.LONG) {
+            return true;
+        }
+        return fieldType.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) fieldType).asElement()).getQualifiedName().contentEquals("java.lang.Long");
+    }
+
+    /**
+     * Nomes dos métodos injetados para o campo, associados à quantidade de parâmetros.
+     */
+    public static Map<String, Integer> methodNames(String fieldName) {
+        String capitalized = GeneratedNames.capitalize(fieldName);
+        Map<String, Integer> methods = new LinkedHashMap<>();
+        methods.put("increment" + capitalized, 0);
+        methods.put("add" + capitalized, 1);
+        methods.put("sum" + capitalized, 0);
+        methods.put("sumThenReset" + capitalized, 0);
+        return methods;
+    }
+
+    /** Nome do campo base (ex: {@code hits} -> {@code $hitsBase}) */
+    public static String baseField(String fieldName) {
+        return "$" + fieldName + "Base";
+    }
+
+    /** Nome da tabela de células (ex: {@code hits} -> {@code $hitsCells}) */
+    public static String cellsField(String fieldName) {
+        return "$" + fieldName + "Cells";
+    }
+
+    /**
+     * Gera a classe companheira {@code <Classe><Campo>Counter}.
+     *
+     * @return nome simples da classe gerada, ou {@code null} em caso de falha
+     */
+    public String generate(TypeElement owner, String fieldName) {
+        String counterName = GeneratedNames.companion(owner, fieldName, SUFFIX);
+
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("packageDecl", SourceWriter.packageDecl(GeneratedNames.packageOf(owner)));
+        values.put("counter", counterName);
+        values.put("owner", owner.getQualifiedName().toString());
+        values.put("field", fieldName);
+        values.put("base", baseField(fieldName));
+        values.put("cells", cellsField(fieldName));
+
+        String source = SourceWriter.render(TEMPLATE, values);
+        return writer.write(owner, GeneratedNames.qualified(owner, counterName), source) ? counterName : null;
+    }
+
+    /**
+     * {@code volatile long $hitsBase;} e {@code volatile long[][] $hitsCells;}
+     */
+    public List<JCTree> fields(String fieldName) {
+        return List.of(
+                maker.VarDef(
+                        maker.Modifiers(Flags.VOLATILE),
+                        names.fromString(baseField(fieldName)),
+                        maker.TypeIdent(TypeTag.LONG),
+                        null
+                ),
+                maker.VarDef(
+                        maker.Modifiers(Flags.VOLATILE),
+                        names.fromString(cellsField(fieldName)),
+                        maker.TypeArray(maker.TypeArray(maker.TypeIdent(TypeTag.LONG))),
+                        null
+                )
+        );
+    }
+
+    /**
+     * <pre>{@code
+     * public void incrementHits() { ItemHitsCounter.add(this, 1L); }
+     * public void addHits(long delta) { ItemHitsCounter.add(this, delta); }
+     * public long sumHits() { return ItemHitsCounter.sum(this); }
+     * public long sumThenResetHits() { return ItemHitsCounter.sumThenReset(this); }
+     * }</pre>
+     */
+    public List<JCTree> methods(String fieldName, String counterName) {
+        String capitalized = GeneratedNames.capitalize(fieldName);
+
+        JCTree.JCVariableDecl delta = maker.VarDef(
+                maker.Modifiers(Flags.PARAMETER),
+                names.fromString("delta"),
+                maker.TypeIdent(TypeTag.LONG),
+                null
+        );
+
+        return List.of(
+                method("increment" + capitalized, TypeTag.VOID, List.nil(),
+                        maker.Exec(call(counterName, "add", maker.Literal(1L)))),
+                method("add" + capitalized, TypeTag.VOID, List.of(delta),
+                        maker.Exec(call(counterName, "add", maker.Ident(names.fromString("delta"))))),
+                method("sum" + capitalized, TypeTag.LONG, List.nil(),
+                        maker.Return(call(counterName, "sum", null))),
+                method("sumThenReset" + capitalized, TypeTag.LONG, List.nil(),
+                        maker.Return(call(counterName, "sumThenReset", null)))
+        );
+    }
+
+    private JCTree.JCMethodDecl method(String name, TypeTag returnType,
+                                       List<JCTree.JCVariableDecl> params, JCTree.JCStatement statement) {
+        return maker.MethodDef(
+                maker.Modifiers(Flags.PUBLIC),
+                names.fromString(name),
+                maker.TypeIdent(returnType),
+                List.nil(),
+                params,
+                List.nil(),
+                maker.Block(0, List.of(statement)),
+                null
+        );
+    }
+
+    /** {@code ItemHitsCounter.<method>(this[, argument])} */
+    private JCTree.JCExpression call(String counterName, String method, JCTree.JCExpression argument) {
+        List<JCTree.JCExpression> args = argument == null
+                ? List.of(maker.Ident(names._this))
+                : List.of(maker.Ident(names._this), argument);
+
+        return maker.Apply(
+                List.nil(),
+                maker.Select(accessors.typeTree(counterName), names.fromString(method)),
+                args
+        );
+    }
+
+    private static final String TEMPLATE = """
+            ${packageDecl}import java.lang.invoke.MethodHandles;
+            import java.lang.invoke.VarHandle;
+            import java.util.Arrays;
+            import javax.annotation.processing.Generated;
+
+            /**
+             * Contador distribuído do campo {@code ${field}} de {@link ${owner}}.
+             * <p>
+             * Sem disputa, as somas são feitas por CAS direto em {@code ${base}}. Na primeira falha
+             * é criada a tabela {@code ${cells}}, cujas células são escolhidas por um probe mantido
+             * por thread e expandidas sob demanda até o número de processadores. A cada colisão o
+             * probe da thread avança, de modo que ela passa a usar outra célula nas somas seguintes.
+             * Cada célula é um array próprio com o valor cercado por preenchimento, evitando false
+             * sharing entre células.
+             * </p>
+             */
+            @Generated("br.com.restick.internal.processor.FielderProcessor")
+            public final class ${counter} {
+
+                /** Posição do valor em cada célula: 128 bytes de preenchimento antes e depois */
+                private static final int PAD = 16;
+
+                private static final int MAX_CELLS =
+                        Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+
+                private static final VarHandle BASE;
+                private static final VarHandle CELLS;
+                private static final VarHandle CELL = MethodHandles.arrayElementVarHandle(long[][].class);
+                private static final VarHandle VALUE = MethodHandles.arrayElementVarHandle(long[].class);
+
+                /** Probe de cada thread; consultado apenas após a primeira disputa */
+                private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[] {seed()});
+
+                static {
+                    try {
+                        MethodHandles.Lookup lookup = MethodHandles.lookup();
+                        BASE = lookup.findVarHandle(${owner}.class, "${base}", long.class);
+                        CELLS = lookup.findVarHandle(${owner}.class, "${cells}", long[][].class);
+                    } catch (ReflectiveOperationException e) {
+                        throw new ExceptionInInitializerError(e);
+                    }
+                }
+
+                private ${counter}() {
+                }
+
+                static void add(${owner} owner, long x) {
+                    if (owner.${cells} == null) {
+                        long base = owner.${base};
+                        if (BASE.compareAndSet(owner, base, base + x)) {
+                            return;
+                        }
+                    }
+                    addContended(owner, x);
+                }
+
+                static long sum(${owner} owner) {
+                    long sum = owner.${base};
+                    long[][] cells = owner.${cells};
+                    if (cells != null) {
+                        for (int i = 0; i < cells.length; i++) {
+                            long[] cell = (long[]) CELL.getAcquire(cells, i);
+                            if (cell != null) {
+                                sum += (long) VALUE.getVolatile(cell, PAD);
+                            }
+                        }
+                    }
+                    return sum;
+                }
+
+                static long sumThenReset(${owner} owner) {
+                    long sum = (long) BASE.getAndSet(owner, 0L);
+                    long[][] cells = owner.${cells};
+                    if (cells != null) {
+                        for (int i = 0; i < cells.length; i++) {
+                            long[] cell = (long[]) CELL.getAcquire(cells, i);
+                            if (cell != null) {
+                                sum += (long) VALUE.getAndSet(cell, PAD, 0L);
+                            }
+                        }
+                    }
+                    return sum;
+                }
+
+                private static void addContended(${owner} owner, long x) {
+                    int[] holder = PROBE.get();
+                    int probe = holder[0];
+                    boolean collided = false;
+                    while (true) {
+                        long[][] cells = owner.${cells};
+                        if (cells == null) {
+                            long base = owner.${base};
+                            if (BASE.compareAndSet(owner, base, base + x)) {
+                                return;
+                            }
+                            CELLS.compareAndSet(owner, null, new long[2][]);
+                            continue;
+                        }
+                        int slot = probe & (cells.length - 1);
+                        long[] cell = (long[]) CELL.getAcquire(cells, slot);
+                        if (cell == null) {
+                            if (create(owner, cells, slot, x)) {
+                                return;
+                            }
+                            continue;
+                        }
+                        long value = (long) VALUE.getVolatile(cell, PAD);
+                        if (VALUE.compareAndSet(cell, PAD, value, value + x)) {
+                            return;
+                        }
+                        if (collided && cells.length < MAX_CELLS) {
+                            expand(owner, cells);
+                            collided = false;
+                        } else {
+                            collided = true;
+                        }
+                        probe ^= probe << 13;
+                        probe ^= probe >>> 17;
+                        probe ^= probe << 5;
+                        holder[0] = probe;
+                    }
+                }
+
+                // Criação e expansão sincronizam na tabela atual: uma célula nunca é criada
+                // em uma tabela que já foi copiada.
+                private static boolean create(${owner} owner, long[][] cells, int slot, long x) {
+                    synchronized (cells) {
+                        if (owner.${cells} != cells || cells[slot] != null) {
+                            return false;
+                        }
+                        long[] cell = new long[PAD * 2];
+                        cell[PAD] = x;
+                        CELL.setRelease(cells, slot, cell);
+                        return true;
+                    }
+                }
+
+                private static void expand(${owner} owner, long[][] cells) {
+                    synchronized (cells) {
+                        if (owner.${cells} == cells) {
+                            owner.${cells} = Arrays.copyOf(cells, cells.length << 1);
+                        }
+                    }
+                }
+
+                private static int seed() {
+                    long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+                    return (int) (h ^ (h >>> 32)) | 1;
+                }
+            }
+            """;
+}
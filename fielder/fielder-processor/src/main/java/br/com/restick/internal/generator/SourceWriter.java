@@ -0,0 +1,64 @@
+package br.com.restick.internal.generator;
+
+import br.com.restick.internal.massager.FieldsMessager;
+import lombok.RequiredArgsConstructor;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Grava classes companheiras como código-fonte através do {@link Filer}.
+ * <p>
+ * As classes geradas são compiladas na rodada seguinte do javac, de modo que
+ * os membros injetados na AST da classe anotada podem referenciá-las normalmente.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+public class SourceWriter {
+
+    private final Filer filer;
+
+    private final FieldsMessager messager;
+
+    /**
+     * Grava o código-fonte da classe informada.
+     *
+     * @param origin elemento que originou a geração (usado nas mensagens e no rastreio do Filer)
+     * @param qualifiedName nome qualificado da classe gerada
+     * @param source conteúdo do arquivo
+     * @return {@code true} se o arquivo foi gravado
+     */
+    public boolean write(Element origin, String qualifiedName, String source) {
+        try (Writer writer = filer.createSourceFile(qualifiedName, origin).openWriter()) {
+            writer.write(source);
+            return true;
+        } catch (IOException e) {
+            messager.error(origin, "@Fielder: falha ao gerar '%s': %s", qualifiedName, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Substitui os marcadores {@code ${chave}} do template pelos valores informados.
+     */
+    public static String render(String template, Map<String, String> values) {
+        String result = template;
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.replace("${" + entry.getKey() + "}", entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Declaração {@code package} para o pacote informado (vazia para o pacote padrão).
+     */
+    public static String packageDecl(String pkg) {
+        return pkg.isEmpty() ? "" : "package " + pkg + ";\n\n";
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.restick.internal.model;
+
+import com.sun.tools.javac.tree.JCTree;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registro, por compilação, das classes já modificadas pelo processor.
+ * <p>
+ * O processor é instanciado uma vez por execução do javac e chamado a cada rodada. As
+ * classes são registradas pelo nome qualificado (os {@link TypeElement}s mudam de uma
+ * rodada para outra), junto com os campos declarados na AST, e não são processadas
+ * novamente em rodadas seguintes. Na rodada final, {@link #missing} confere se esses
+ * campos continuam na árvore da classe.
+ * </p>
+ *
+ * <p>
+ * Classes cujos tipos de campo ainda não existem (ex: gerados por outro processor) são
+ * adiadas e reavaliadas na rodada seguinte. Na rodada final, as que continuarem
+ * pendentes são reportadas por {@link #pending()}.
+ * </p>
+ *
+ * @author William
+ * @since 1.0
+ */
+public class TypeRegistry {
+
+    /** Campos declarados na AST pela injeção, por nome qualificado da classe */
+    private final Map<String, Set<String>> processed = new LinkedHashMap<>();
+
+    /** Classes adiadas para a próxima rodada */
+    private final Set<String> deferred = new LinkedHashSet<>();
+
+    /**
+     * Indica se o tipo e tudo o que ele referencia já existem nesta rodada: componentes de
+     * arrays ({@code Gerado[]}) e argumentos de tipos genéricos também são verificados.
+     */
+    public static boolean isResolved(TypeMirror type) {
+        if (type.getKind() == TypeKind.ERROR) {
+            return false;
+        }
+        if (type instanceof ArrayType array) {
+            return isResolved(array.getComponentType());
+        }
+        if (type instanceof DeclaredType declared) {
+            for (TypeMirror argument : declared.getTypeArguments()) {
+                if (!isResolved(argument)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica se a classe já foi modificada em uma rodada anterior.
+     */
+    public boolean isProcessed(TypeElement type) {
+        return processed.containsKey(type.getQualifiedName().toString());
+    }
+
+    /**
+     * Registra a classe como processada, com os nomes dos campos declarados na AST.
+     */
+    public void record(TypeElement type, Collection<String> fields) {
+        String name = type.getQualifiedName().toString();
+        deferred.remove(name);
+        processed.put(name, Set.copyOf(fields));
+    }
+
+    /**
+     * Nomes qualificados das classes processadas nesta compilação.
+     */
+    public List<String> processed() {
+        return List.copyOf(processed.keySet());
+    }
+
+    /**
+     * Campos registrados para a classe que não estão mais declarados na árvore informada.
+     */
+    public List<String> missing(TypeElement type, JCTree.JCClassDecl classDecl) {
+        Set<String> declared = new HashSet<>();
+        for (JCTree def : classDecl.defs) {
+            if (def instanceof JCTree.JCVariableDecl field) {
+                declared.add(field.name.toString());
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String field : processed.getOrDefault(type.getQualifiedName().toString(), Set.of())) {
+            if (!declared.contains(field)) {
+                missing.add(field);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Adia a classe para a próxima rodada.
+     */
+    public void defer(TypeElement type) {
+        deferred.add(type.getQualifiedName().toString());
+    }
+
+    /**
+     * Classes a processar nesta rodada: as adiadas (resolvidas novamente na rodada atual)
+     * seguidas das anotadas, sem as já processadas.
+     *
+     * @param annotated classes anotadas encontradas na rodada
+     * @param elements utilitário da rodada atual
+     */
+    public List<TypeElement> candidates(Collection<TypeElement> annotated, Elements elements) {
+        Map<String, TypeElement> candidates = new LinkedHashMap<>();
+
+        for (String name : deferred) {
+            TypeElement type = elements.getTypeElement(name);
+            if (type != null) {
+                candidates.put(name, type);
+            }
+        }
+
+        for (TypeElement type : annotated) {
+            candidates.putIfAbsent(type.getQualifiedName().toString(), type);
+        }
+
+        List<TypeElement> result = new ArrayList<>();
+        for (TypeElement type : candidates.values()) {
+            if (!isProcessed(type)) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Classes ainda adiadas. Na rodada final, indicam tipos que nunca foram resolvidos.
+     */
+    public List<String> pending() {
+        return List.copyOf(deferred);
+    }
+}
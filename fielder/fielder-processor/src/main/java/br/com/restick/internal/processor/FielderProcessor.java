@@ -14,9 +14,16 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+import br.com.restick.internal.generator.AccessorGenerator;
+import br.com.restick.internal.generator.CounterGenerator;
+import br.com.restick.internal.generator.IndexGenerator;
+import br.com.restick.internal.generator.SourceWriter;
 import br.com.restick.internal.massager.FieldsMessager;
+import br.com.restick.internal.model.TypeRegistry;
 import br.com.restick.internal.validator.FieldsValidator;
 import com.google.auto.service.AutoService;
 import com.sun.tools.javac.api.JavacTrees;
@@ -42,6 +49,13 @@ import static br.com.restick.internal.processor.unwrapper.UnwrapperIntelliJ.unwr
  *   <li>O tipo do campo é passado como String na anotação e convertido para {@link JCTree.JCIdent}.</li>
  *   <li>Campos gerados em tempo de compilação exigem que o módulo consumidor compile
  *       após o processor gerar os campos, caso contrário o bytecode não terá o campo público.</li>
+ *   <li>Com {@code indexed = true} é gerada a classe de índice secundário do campo e um setter
+ *       que a mantém atualizada. O campo indexado é privado, para que atribuições diretas não
+ *       contornem o índice, e recebe um getter gerado.</li>
+ *   <li>Com {@code counter = true} o campo vira um contador distribuído em células, com os
+ *       métodos {@code increment}/{@code add}/{@code sum}/{@code sumThenReset}.</li>
+ *   <li>Cada classe é modificada uma única vez por compilação ({@link TypeRegistry}); classes
+ *       cujo tipo de campo ainda não foi gerado por outro processor são adiadas para a rodada seguinte.</li>
  * </ul>
  * </p>
  *
@@ -68,6 +82,18 @@ public class FielderProcessor extends AbstractProcessor {
     /** Messager para log de infos, warnings e errors */
     private FieldsMessager messager;
 
+    /** Gerador de métodos de acesso injetados na AST */
+    private AccessorGenerator accessors;
+
+    /** Gerador das classes de índice secundário */
+    private IndexGenerator indexes;
+
+    /** Gerador dos contadores distribuídos */
+    private CounterGenerator counters;
+
+    /** Classes já modificadas (ou adiadas) nesta compilação */
+    private final TypeRegistry registry = new TypeRegistry();
+
     /**
      * Inicializa o processor, configurando as instâncias de {@link JavacTrees}, {@link TreeMaker} e {@link Names}.
      *
@@ -100,6 +126,10 @@ public class FielderProcessor extends AbstractProcessor {
         var fieldMessager = new FieldsMessager(prcsEnvMessager);
         validator = new FieldsValidator(fieldMessager);
         messager = fieldMessager;
+        accessors = new AccessorGenerator(maker, names);
+        SourceWriter writer = new SourceWriter(processingEnv.getFiler(), fieldMessager);
+        indexes = new IndexGenerator(writer);
+        counters = new CounterGenerator(maker, names, accessors, writer);
     }
 
     /**
@@ -116,46 +146,174 @@ public class FielderProcessor extends AbstractProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
 
+        if (roundEnv.processingOver()) {
+            verify();
+            return true;
+        }
+
+        List<TypeElement> annotated = new ArrayList<>();
         for (Element element : roundEnv.getElementsAnnotatedWith(Fielder.class)) {
-            if (!(element instanceof TypeElement type)) continue;
+            if (element instanceof TypeElement type) {
+                annotated.add(type);
+            }
+        }
+
+        for (TypeElement type : registry.candidates(annotated, processingEnv.getElementUtils())) {
 
-            Fielder annotation = element.getAnnotation(Fielder.class);
+            Fielder annotation = type.getAnnotation(Fielder.class);
 
-            if(!validator.isEligible(type, annotation.name())){
+            TypeMirror typeMirror = resolveType(annotation);
+
+            // Tipos gerados por outro processor só existem nas rodadas seguintes
+            if (!TypeRegistry.isResolved(typeMirror)) {
+                messager.note(type, "@Fielder: tipo do campo ainda nao resolvido em " + type.getSimpleName()
+                        + ". Processamento adiado para a proxima rodada.");
+                registry.defer(type);
                 continue;
             }
 
-            JCTree.JCClassDecl classDecl = trees.getTree(type);
+            // Índices e contadores são classes companheiras que referenciam a classe anotada
+            boolean companion = annotation.indexed() || annotation.counter();
 
-            JCTree.JCVariableDecl field = getJcVariableDecl(annotation);
+            boolean injected = validator.isEligible(type, annotation.name())
+                    && (!companion || validator.isCompanionAccessible(type))
+                    && inject(type, annotation, typeMirror);
 
-            // Adiciona o campo na classe
-            messager.note(type, "@Fielder: Incluindo campo(s) na classe - " + type.getSimpleName());
-            classDecl.defs = classDecl.defs.prepend(field);
+            // Contadores não declaram o campo pelo nome: a base é o campo injetado na AST
+            String declared = annotation.counter() ? CounterGenerator.baseField(annotation.name()) : annotation.name();
+            registry.record(type, injected ? List.of(declared) : List.of());
         }
         return true;
     }
 
-    private JCTree.JCVariableDecl getJcVariableDecl(Fielder annotation) {
-        TypeMirror typeMirror = null;
+    /**
+     * Rodada final: reporta as classes que continuaram adiadas e confere se os campos
+     * injetados continuam na AST (outro processor pode ter substituído a árvore da classe).
+     */
+    private void verify() {
+        for (String name : registry.pending()) {
+            messager.error(
+                    processingEnv.getElementUtils().getTypeElement(name),
+                    "@Fielder: tipo do campo de %s nao foi resolvido em nenhuma rodada. Nenhum campo foi gerado.",
+                    name
+            );
+        }
 
-        try{
-            annotation.type();
-            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
-        } catch (MirroredTypeException e){
-            typeMirror = e.getTypeMirror();
+        for (String name : registry.processed()) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+            JCTree.JCClassDecl classDecl = type == null ? null : trees.getTree(type);
+            if (classDecl == null) {
+                continue;
+            }
+            for (String field : registry.missing(type, classDecl)) {
+                messager.error(
+                        type,
+                        "@Fielder: campo '%s' injetado em %s nao esta mais na AST da classe. "
+                                + "Outro processor substituiu a arvore apos a geracao.",
+                        field, name
+                );
+            }
+        }
+    }
+
+    /**
+     * Injeta o campo (ou contador) na AST da classe.
+     *
+     * @return {@code true} se o campo foi gerado
+     */
+    private boolean inject(TypeElement type, Fielder annotation, TypeMirror typeMirror) {
+
+        JCTree.JCClassDecl classDecl = trees.getTree(type);
+
+        // Posiciona os nós gerados dentro da classe; o TreeMaker é compartilhado com o javac
+        maker.at(classDecl.pos);
+
+        if (annotation.counter()) {
+            return addCounter(type, classDecl, annotation, typeMirror);
         }
 
-        TypeElement typeElement =
-                (TypeElement) processingEnv.getTypeUtils().asElement(typeMirror);
+        JCTree.JCVariableDecl field = getJcVariableDecl(annotation, typeMirror);
 
-        String simpleTypeName = typeElement.getSimpleName().toString();
+        // Adiciona o campo na classe
+        messager.note(type, "@Fielder: Incluindo campo(s) na classe - " + type.getSimpleName());
+        classDecl.defs = classDecl.defs.prepend(field);
+
+        if (annotation.indexed()) {
+            addIndex(type, classDecl, annotation, typeMirror);
+        }
+        return true;
+    }
 
+    /**
+     * Gera a classe de índice do campo e injeta o setter que a mantém atualizada.
+     */
+    private void addIndex(TypeElement type, JCTree.JCClassDecl classDecl,
+                          Fielder annotation, TypeMirror typeMirror) {
+
+        if (!validator.isIndexable(type, annotation.name(), typeMirror)) {
+            return;
+        }
+
+        TypeElement fieldType = (TypeElement) processingEnv.getTypeUtils().asElement(typeMirror);
+
+        String indexName = indexes.generate(type, annotation.name(), fieldType, annotation.sorted());
+        if (indexName == null) {
+            return;
+        }
+
+        messager.note(type, "@Fielder: Gerando indice '" + indexName + "' para o campo '" + annotation.name() + "'");
+        classDecl.defs = classDecl.defs.append(accessors.indexedSetter(
+                annotation.name(), fieldType.getSimpleName().toString(), indexName
+        ));
+        if (!validator.declaresGetter(type, annotation.name())) {
+            classDecl.defs = classDecl.defs.append(accessors.indexedGetter(annotation.name(), typeMirror));
+        }
+    }
+
+    /**
+     * Gera a classe companheira do contador e injeta a base, a tabela de células e os métodos de acesso.
+     *
+     * @return {@code true} se o contador foi gerado
+     */
+    private boolean addCounter(TypeElement type, JCTree.JCClassDecl classDecl,
+                               Fielder annotation, TypeMirror fieldType) {
+
+        if (!validator.isCounterEligible(type, annotation.name(), fieldType, annotation.indexed())) {
+            return false;
+        }
+
+        String counterName = counters.generate(type, annotation.name());
+        if (counterName == null) {
+            return false;
+        }
+
+        messager.note(type, "@Fielder: Gerando contador '" + counterName + "' na classe " + type.getSimpleName());
+        classDecl.defs = classDecl.defs
+                .prependList(counters.fields(annotation.name()))
+                .appendList(counters.methods(annotation.name(), counterName));
+        return true;
+    }
+
+    private JCTree.JCVariableDecl getJcVariableDecl(Fielder annotation, TypeMirror typeMirror) {
+        // Campos indexados só podem ser escritos pelo setter gerado, que atualiza o índice
         return maker.VarDef(
-                maker.Modifiers(1L),
+                maker.Modifiers(annotation.indexed() ? 2L : 1L),
                 names.fromString(annotation.name()),
-                maker.Ident(names.fromString(simpleTypeName)), // tipo
+                accessors.typeTree(typeMirror), // tipo
                 null // inicialização
         );
     }
+
+    private TypeMirror resolveType(Fielder annotation) {
+        TypeMirror typeMirror = null;
+
+        try{
+            annotation.type();
+            throw new IllegalStateException("Nunca deveria acessar Class diretamente");
+        } catch (MirroredTypeException e){
+            typeMirror = e.getTypeMirror();
+        }
+
+        return typeMirror;
+    }
 }
@@ -0,0 +1,149 @@
+package br.com.restick.internal.server;
+
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente do {@link CompileServer}: recebe os mesmos argumentos do {@code javac},
+ * envia o pedido ao servidor em execução e repassa a saída e o código de saída.
+ * <p>
+ * Caminhos relativos são convertidos para absolutos, já que o servidor roda em outro
+ * diretório de trabalho. Arquivos de argumentos ({@code @arquivo}) são expandidos aqui.
+ * </p>
+ *
+ * <p>
+ * Também serve de executável {@code javac} para o {@code maven-compiler-plugin} com
+ * {@code <fork>true</fork>} (veja {@code .mvn/javac-server.sh}): {@code -version} é
+ * respondido pelo javac local, sem o servidor, e opções {@code -J} (da JVM do javac) são
+ * descartadas, já que o servidor roda em uma JVM própria.
+ * </p>
+ *
+ * <pre>{@code
+ * java -cp fielder-processor.jar br.com.restick.internal.server.CompileClient \
+ *      -d target/classes -cp target/classes src/main/java/br/com/restick/app/model/Car.java
+ * }</pre>
+ *
+ * @author William
+ * @since 1.0
+ */
+public class CompileClient {
+
+    /** Opções do javac cujo valor é um caminho ou uma lista de caminhos */
+    private static final Set<String> PATH_OPTIONS = Set.of(
+            "-d", "-s", "-h", "-cp", "-classpath", "--class-path", "-sourcepath", "--source-path",
+            "-p", "--module-path", "--module-source-path", "--upgrade-module-path", "--system",
+            "-processorpath", "--processor-path", "--processor-module-path"
+    );
+
+    /** Separa os argumentos de um {@code @arquivo}, respeitando aspas e escapes entre aspas duplas */
+    private static final Pattern ARG = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"|'([^']*)'|(\\S+)");
+
+    /** Escapes dentro de aspas duplas em um {@code @arquivo} (ex: {@code "C:\\dir"}) */
+    private static final Pattern ESCAPE = Pattern.compile("\\\\(.)");
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1 && (args[0].equals("-version") || args[0].equals("--version"))) {
+            System.exit(ToolProvider.getSystemJavaCompiler().run(null, null, null, args[0]));
+            return;
+        }
+
+        List<String> state;
+        try {
+            state = Files.readAllLines(CompileServer.STATE_FILE);
+        } catch (NoSuchFileException e) {
+            System.err.println("ReStick compile server nao esta em execucao (" + CompileServer.STATE_FILE + ").");
+            System.exit(2);
+            return;
+        }
+
+        int port = Integer.parseInt(state.get(0).trim());
+        String token = state.get(1).trim();
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+
+            out.println(token);
+            for (String arg : absolutize(expand(args))) {
+                out.println(arg);
+            }
+            out.println();
+
+            int exit = 2;
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith(CompileServer.EXIT_PREFIX)) {
+                    exit = Integer.parseInt(line.substring(CompileServer.EXIT_PREFIX.length()));
+                    break;
+                }
+                System.err.println(line);
+            }
+            System.exit(exit);
+        }
+    }
+
+    /**
+     * Expande os arquivos de argumentos ({@code @arquivo}).
+     */
+    static List<String> expand(String[] args) throws IOException {
+        List<String> expanded = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("@") && arg.length() > 1) {
+                Matcher matcher = ARG.matcher(Files.readString(Path.of(arg.substring(1))));
+                while (matcher.find()) {
+                    expanded.add(matcher.group(1) != null ? ESCAPE.matcher(matcher.group(1)).replaceAll("$1")
+                            : matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+                }
+            } else {
+                expanded.add(arg);
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * Converte para absolutos os arquivos-fonte e os valores das opções de caminho, nas
+     * formas {@code --opcao valor} e {@code --opcao=valor}, e descarta as opções {@code -J}.
+     */
+    static List<String> absolutize(List<String> args) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+            int equals = arg.indexOf('=');
+            if (PATH_OPTIONS.contains(arg) && i + 1 < args.size()) {
+                result.add(arg);
+                result.add(absolutePathList(args.get(++i)));
+            } else if (arg.startsWith("--") && equals > 0 && PATH_OPTIONS.contains(arg.substring(0, equals))) {
+                result.add(arg.substring(0, equals + 1) + absolutePathList(arg.substring(equals + 1)));
+            } else if (arg.startsWith("-J")) {
+                continue;
+            } else if (!arg.startsWith("-") && arg.endsWith(".java")) {
+                result.add(Path.of(arg).toAbsolutePath().toString());
+            } else {
+                result.add(arg);
+            }
+        }
+        return result;
+    }
+
+    private static String absolutePathList(String value) {
+        List<String> paths = new ArrayList<>();
+        for (String path : value.split(java.io.File.pathSeparator)) {
+            paths.add(path.isEmpty() ? path : Path.of(path).toAbsolutePath().toString());
+        }
+        return String.join(java.io.File.pathSeparator, paths);
+    }
+}
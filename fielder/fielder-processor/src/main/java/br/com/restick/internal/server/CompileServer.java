@@ -0,0 +1,377 @@
+package br.com.restick.internal.server;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+
+/**
+ * Servidor de compilação local que mantém o javac e os Annotation Processors do
+ * ReStick carregados entre builds.
+ * <p>
+ * Cada execução do Maven com {@code <fork>true</fork>} inicia uma JVM nova, que precisa
+ * carregar, fazer unwrap e aquecer (JIT) os processors a cada build. Este servidor roda
+ * em uma JVM de longa duração e recebe pedidos de compilação por socket local
+ * ({@link CompileClient}), de modo que compilações repetidas reaproveitam:
+ * <ul>
+ *   <li>as classes do javac e dos processors já carregadas e compiladas pelo JIT;</li>
+ *   <li>os construtores dos processors descobertos uma única vez via {@link ServiceLoader}
+ *       (a cada build é criada uma instância nova, como exige a API de processors);</li>
+ *   <li>o class loader de cada {@code -processorpath} recebido (ex: Lombok, AutoService),
+ *       reutilizado enquanto os arquivos do caminho não mudarem;</li>
+ *   <li>o índice compartilhado da imagem da JDK mantido pelo próprio javac na JVM.</li>
+ * </ul>
+ * Símbolos e tipos resolvidos pertencem ao contexto de cada compilação e não são
+ * compartilhados entre builds. O {@code com.sun.tools.javac.api.JavacTaskPool}, que
+ * reaproveita o contexto, não serve aqui: o contexto reutilizado não executa Annotation
+ * Processors (no JDK 21 a segunda compilação falha com {@code AssertionError} em
+ * {@code JavaCompiler.processAnnotations}, pois o ambiente de processamento foi fechado
+ * na primeira), e as classes lidas do classpath ficariam em cache mesmo após mudarem.
+ * </p>
+ *
+ * <p>
+ * O servidor escuta apenas em loopback e grava porta e token de acesso em
+ * {@link #STATE_FILE}, legível somente pelo usuário. O arquivo e a porta padrão são
+ * próprios deste artefato ({@code fielder-processor}), de modo que os servidores dos
+ * módulos não se confundem. Os pedidos são atendidos um por vez; um cliente que não
+ * termina de enviar o pedido em {@link #READ_TIMEOUT_MILLIS} é desconectado, sem
+ * bloquear os seguintes.
+ * </p>
+ *
+ * <p>
+ * Com {@code -processorpath}/{@code --processor-path}, os processors são os declarados em
+ * {@code META-INF/services} das entradas do caminho (ou os informados em {@code -processor}),
+ * carregados por um {@link URLClassLoader} cujo pai é o class loader do servidor: classes
+ * presentes nos dois, como os processors do ReStick, vêm do servidor, já aquecidas. Sem o
+ * caminho, são usados os processors do classpath do servidor.
+ * </p>
+ *
+ * <p><b>Protocolo</b> (UTF-8, uma linha por item): o cliente envia o token, os argumentos
+ * do javac e uma linha vazia; o servidor responde com a saída do javac e, por fim,
+ * {@link #EXIT_PREFIX} seguido do código de saída.</p>
+ *
+ * @author William
+ * @since 1.0
+ */
+public class CompileServer {
+
+    /** Porta padrão quando nenhuma é informada */
+    public static final int DEFAULT_PORT = 7726;
+
+    /** Arquivo com a porta e o token do servidor em execução, exclusivo do {@code fielder-processor} */
+    public static final Path STATE_FILE = Path.of(System.getProperty("user.home"), ".restick", "compile-server-fielder");
+
+    /** Tempo máximo de espera por cada linha do pedido */
+    public static final int READ_TIMEOUT_MILLIS = 10_000;
+
+    /** Prefixo da última linha da resposta, com o código de saída */
+    public static final String EXIT_PREFIX = "#restick-exit ";
+
+    /** Argumento que encerra o servidor */
+    public static final String SHUTDOWN = "--shutdown";
+
+    /** Opções do javac com o caminho dos processors */
+    private static final List<String> PROCESSOR_PATH_OPTIONS = List.of("-processorpath", "--processor-path");
+
+    /** Quantidade de caminhos de processors distintos mantidos carregados */
+    private static final int MAX_PROCESSOR_PATHS = 8;
+
+    private static final String PROCESSOR_SERVICE = "META-INF/services/" + Processor.class.getName();
+
+    private final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+    private final List<Constructor<? extends Processor>> processors = new ArrayList<>();
+
+    /** Class loaders por caminho de processors (entradas e datas de modificação), do menos ao mais recente */
+    private final Map<List<String>, URLClassLoader> loaders = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int port;
+
+    private final String token;
+
+    public CompileServer(int port) {
+        this.port = port;
+        byte[] secret = new byte[16];
+        new SecureRandom().nextBytes(secret);
+        this.token = HexFormat.of().formatHex(secret);
+
+        for (ServiceLoader.Provider<Processor> provider : ServiceLoader.load(Processor.class).stream().toList()) {
+            try {
+                processors.add(provider.type().getConstructor());
+            } catch (NoSuchMethodException e) {
+                System.err.println("Processor ignorado (sem construtor publico): " + provider.type().getName());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        new CompileServer(port).run();
+    }
+
+    /**
+     * Abre o socket, publica o {@link #STATE_FILE} e atende pedidos até receber {@link #SHUTDOWN}.
+     */
+    public void run() throws IOException {
+        if (compiler == null) {
+            throw new IllegalStateException("CompileServer requer uma JDK (javax.tools.JavaCompiler indisponivel).");
+        }
+
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            writeState();
+            System.out.println("ReStick compile server em 127.0.0.1:" + port + " com "
+                    + processors.size() + " processor(s): "
+                    + processors.stream().map(c -> c.getDeclaringClass().getSimpleName()).toList());
+
+            boolean running = true;
+            while (running) {
+                try (Socket socket = server.accept()) {
+                    socket.setSoTimeout(READ_TIMEOUT_MILLIS);
+                    running = handle(socket);
+                } catch (IOException e) {
+                    System.err.println("Falha ao atender pedido: " + e.getMessage());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(STATE_FILE);
+            for (URLClassLoader loader : loaders.values()) {
+                loader.close();
+            }
+        }
+    }
+
+    /**
+     * Atende um pedido.
+     *
+     * @return {@code false} se o servidor deve ser encerrado
+     */
+    private boolean handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+        if (!token.equals(in.readLine())) {
+            out.println("Token invalido.");
+            out.println(EXIT_PREFIX + 2);
+            return true;
+        }
+
+        List<String> args = new ArrayList<>();
+        for (String line = in.readLine(); line != null && !line.isEmpty(); line = in.readLine()) {
+            args.add(line);
+        }
+
+        if (args.equals(List.of(SHUTDOWN))) {
+            out.println(EXIT_PREFIX + 0);
+            return false;
+        }
+
+        StringWriter output = new StringWriter();
+        int exit = compile(args, output);
+        out.print(output);
+        out.println(EXIT_PREFIX + exit);
+        return true;
+    }
+
+    /**
+     * Executa o javac em processo com os argumentos recebidos.
+     *
+     * @return {@code 0} em caso de sucesso; {@code 1} se houve erros; {@code 2} para argumentos inválidos
+     */
+    int compile(List<String> args, Writer output) {
+        List<String> options = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        List<String> selected = null;
+        String processorPath = null;
+        boolean procNone = false;
+
+        for (int i = 0; i < args.size(); i++) {
+            String arg = args.get(i);
+
+            if (PROCESSOR_PATH_OPTIONS.contains(arg) && i + 1 < args.size()) {
+                processorPath = args.get(i + 1);
+                options.add(arg);
+                options.add(args.get(++i));
+            } else if (arg.startsWith("--processor-path=")) {
+                processorPath = arg.substring("--processor-path=".length());
+                options.add(arg);
+            } else if (arg.equals("-processor") && i + 1 < args.size()) {
+                selected = List.of(args.get(++i).split(","));
+            } else if (arg.endsWith(".java") && !arg.startsWith("-")) {
+                sources.add(arg);
+            } else {
+                procNone |= arg.equals("-proc:none");
+                options.add(arg);
+            }
+        }
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromStrings(sources);
+            JavaCompiler.CompilationTask task = compiler.getTask(output, fileManager, null, options, null, units);
+
+            if (!procNone) {
+                task.setProcessors(processorPath == null
+                        ? newProcessors(selected)
+                        : newProcessors(loaderFor(processorPath), selected));
+            }
+
+            return task.call() ? 0 : 1;
+        } catch (IllegalArgumentException | IllegalStateException | IOException | ReflectiveOperationException e) {
+            new PrintWriter(output, true).println("error: " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Cria instâncias novas dos processors descobertos na inicialização.
+     *
+     * @param selected nomes informados em {@code -processor}, ou {@code null} para todos
+     */
+    private List<Processor> newProcessors(List<String> selected) {
+        List<Processor> instances = new ArrayList<>();
+        for (Constructor<? extends Processor> constructor : processors) {
+            if (selected != null && !selected.contains(constructor.getDeclaringClass().getName())) {
+                continue;
+            }
+            try {
+                instances.add(constructor.newInstance());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Falha ao instanciar " + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+        return instances;
+    }
+
+    /**
+     * Cria instâncias novas dos processors de um {@code -processorpath}: os informados em
+     * {@code -processor} ou, sem ele, os declarados em {@code META-INF/services} das
+     * entradas do caminho (as do servidor não entram na descoberta).
+     */
+    private static List<Processor> newProcessors(URLClassLoader loader, List<String> selected)
+            throws IOException, ReflectiveOperationException {
+
+        List<String> names = selected;
+        if (names == null) {
+            names = new ArrayList<>();
+            for (URL service : Collections.list(loader.findResources(PROCESSOR_SERVICE))) {
+                for (String line : readService(service)) {
+                    String name = line.replaceFirst("#.*", "").strip();
+                    if (!name.isEmpty() && !names.contains(name)) {
+                        names.add(name);
+                    }
+                }
+            }
+        }
+
+        List<Processor> instances = new ArrayList<>();
+        for (String name : names) {
+            instances.add(loader.loadClass(name).asSubclass(Processor.class).getConstructor().newInstance());
+        }
+        return instances;
+    }
+
+    /**
+     * Linhas de um arquivo de serviço. Sem o cache de {@code JarURLConnection}, que manteria o
+     * jar aberto e devolveria o conteúdo antigo após o jar ser reconstruído.
+     */
+    private static List<String> readService(URL service) throws IOException {
+        URLConnection connection = service.openConnection();
+        connection.setUseCaches(false);
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    /**
+     * Class loader do caminho de processors, reaproveitado entre builds. Um caminho cujos
+     * arquivos foram modificados (ex: processor recompilado) recebe um class loader novo.
+     */
+    private URLClassLoader loaderFor(String processorPath) throws IOException {
+        List<String> key = new ArrayList<>();
+        List<URL> urls = new ArrayList<>();
+        for (String entry : processorPath.split(File.pathSeparator)) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            Path path = Path.of(entry);
+            key.add(entry + "@" + lastModified(path));
+            try {
+                urls.add(path.toUri().toURL());
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Entrada invalida no processor path: " + entry, e);
+            }
+        }
+
+        URLClassLoader loader = loaders.get(key);
+        if (loader == null) {
+            loader = new URLClassLoader(urls.toArray(URL[]::new), CompileServer.class.getClassLoader());
+            loaders.put(key, loader);
+        }
+
+        if (loaders.size() > MAX_PROCESSOR_PATHS) {
+            Iterator<URLClassLoader> eldest = loaders.values().iterator();
+            eldest.next().close();
+            eldest.remove();
+        }
+        return loader;
+    }
+
+    /**
+     * Data da última modificação da entrada; em diretórios (ex: {@code target/classes}), a do
+     * arquivo modificado mais recentemente.
+     */
+    private static long lastModified(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0L;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            long latest = 0L;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                latest = Math.max(latest, Files.getLastModifiedTime(file).toMillis());
+            }
+            return latest;
+        }
+    }
+
+    private void writeState() throws IOException {
+        Files.createDirectories(STATE_FILE.getParent());
+        Files.deleteIfExists(STATE_FILE);
+        try {
+            Files.createFile(STATE_FILE, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException ignored) {
+            // Sistema de arquivos sem permissões POSIX (ex: Windows)
+            Files.createFile(STATE_FILE);
+        }
+        Files.writeString(STATE_FILE, port + "\n" + token + "\n");
+    }
+}
@@ -1,12 +1,20 @@
 package br.com.restick.internal.validator;
 
+import br.com.restick.internal.generator.CounterGenerator;
+import br.com.restick.internal.generator.GeneratedNames;
+import br.com.restick.internal.generator.IndexGenerator;
 import br.com.restick.internal.massager.FieldsMessager;
 import lombok.RequiredArgsConstructor;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Map;
 
 /**
  * Classe responsável por validar se um {@link TypeElement} é elegível para
@@ -96,4 +104,133 @@ public class FieldsValidator {
 
         return true;
     }
+
+    /**
+     * Verifica se as classes companheiras (geradas no topo do pacote) conseguem referenciar
+     * a classe: classes aninhadas, e as que as envolvem, devem ser {@code static} e não privadas.
+     *
+     * @param type a classe anotada
+     * @return {@code true} se as classes companheiras puderem ser geradas
+     */
+    public boolean isCompanionAccessible(TypeElement type) {
+        for (Element current = type; current instanceof TypeElement nested
+                && current.getEnclosingElement() instanceof TypeElement;
+             current = current.getEnclosingElement()) {
+
+            if (nested.getModifiers().contains(Modifier.PRIVATE)
+                    || (nested.getKind() == ElementKind.CLASS && !nested.getModifiers().contains(Modifier.STATIC))) {
+                messager.error(
+                        type,
+                        "@Fielder: a classe aninhada %s deve ser static e nao privada para gerar "
+                                + "classes companheiras.",
+                        nested.getQualifiedName()
+                );
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se um campo gerado pode receber índice secundário.
+     * <p>
+     * O tipo do campo deve ser {@code String} ou um wrapper numérico inteiro (tipos
+     * primitivos não são aceitos, pois o índice usa {@code null} como ausência), e a
+     * classe não pode declarar um setter com o mesmo nome do que seria gerado.
+     * </p>
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome do campo indexado
+     * @param fieldType o tipo do campo
+     * @return {@code true} se o índice puder ser gerado
+     */
+    public boolean isIndexable(TypeElement type, String fieldName, TypeMirror fieldType) {
+
+        if (fieldType.getKind() != TypeKind.DECLARED
+                || !IndexGenerator.supports((TypeElement) ((DeclaredType) fieldType).asElement())) {
+            messager.error(
+                    type,
+                    "@Fielder: campo '%s' do tipo %s nao pode ser indexado. "
+                            + "Use String, Long, Integer, Short, Byte, Character, Double ou Float.",
+                    fieldName, fieldType
+            );
+            return false;
+        }
+
+        Element setter = findMethod(type, GeneratedNames.setter(fieldName), 1);
+        if (setter != null) {
+            messager.error(
+                    setter,
+                    "@Fielder: metodo '%s' ja existe na classe. O campo indexado '%s' "
+                            + "precisa do setter gerado para manter o indice.",
+                    setter.getSimpleName(), fieldName
+            );
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Indica se a classe já declara o getter do campo; nesse caso o getter do campo
+     * indexado não é gerado.
+     */
+    public boolean declaresGetter(TypeElement type, String fieldName) {
+        return findMethod(type, GeneratedNames.getter(fieldName), 0) != null;
+    }
+
+    /**
+     * Verifica se um contador pode ser gerado: o tipo deve ser {@code long} ou {@code Long},
+     * o campo não pode ser indexado, e a classe não pode declarar os métodos que seriam gerados.
+     *
+     * @param type a classe anotada
+     * @param fieldName o nome do contador
+     * @param fieldType o tipo declarado do contador
+     * @param indexed se o campo também foi marcado como indexado
+     * @return {@code true} se o contador puder ser gerado
+     */
+    public boolean isCounterEligible(TypeElement type, String fieldName, TypeMirror fieldType, boolean indexed) {
+
+        if (!CounterGenerator.supports(fieldType)) {
+            messager.error(
+                    type,
+                    "@Fielder: contador '%s' do tipo %s nao suportado. Use long ou Long.",
+                    fieldName, fieldType
+            );
+            return false;
+        }
+
+        if (indexed) {
+            messager.error(type, "@Fielder: contador '%s' nao pode ser indexado.", fieldName);
+            return false;
+        }
+
+        for (Map.Entry<String, Integer> method : CounterGenerator.methodNames(fieldName).entrySet()) {
+            Element declared = findMethod(type, method.getKey(), method.getValue());
+            if (declared != null) {
+                messager.error(
+                        declared,
+                        "@Fielder: metodo '%s' ja existe na classe e conflita com o contador '%s'.",
+                        declared.getSimpleName(), fieldName
+                );
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Procura um método declarado na classe pelo nome e quantidade de parâmetros.
+     */
+    private static Element findMethod(TypeElement type, String name, int parameters) {
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.METHOD
+                    && enclosed.getSimpleName().contentEquals(name)
+                    && ((ExecutableElement) enclosed).getParameters().size() == parameters) {
+                return enclosed;
+            }
+        }
+        return null;
+    }
 }